@@ -1,5 +1,9 @@
 package me.netkas.lifelesslife;
 
+import me.netkas.lifelesslife.objects.World;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -8,6 +12,7 @@ import java.util.logging.Logger;
 public class Game
 {
     private final ScheduledExecutorService scheduler;
+    private final World world;
     private boolean running;
     private static final Logger logger = Logger.getLogger(Game.class.getName());
 
@@ -16,11 +21,34 @@ public class Game
      * This initializes the scheduler with a single-thread pool and sets the game state to not running.
      */
     public Game()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructs a new Game instance playing in the given world.
+     * Every tick advances the world, compressing its idle chunks. A checkpoint of the world is written whenever
+     * its journal grows too large and when the game stops.
+     *
+     * @param world the world of the game, or null if the game has no world
+     */
+    public Game(World world)
     {
         this.scheduler = Executors.newScheduledThreadPool(1);
+        this.world = world;
         this.running = false;
     }
 
+    /**
+     * Returns the world of the game.
+     *
+     * @return the world of the game, or null if the game has no world
+     */
+    public World getWorld()
+    {
+        return world;
+    }
+
     /**
      * Starts the game loop if it is not already running.
      * The game loop runs at a fixed rate of one second.
@@ -41,8 +69,10 @@ public class Game
      * Stops the game process by shutting down the scheduler and setting the running state to false.
      * If the scheduler does not terminate within 60 seconds, it will attempt an immediate shutdown.
      * This method handles interruptions and ensures the scheduler is properly terminated.
+     * Once no more ticks run, a checkpoint of the world is written to its store before this method returns.
      *
      * @throws IllegalStateException if the scheduler fails to terminate after an immediate shutdown.
+     * @throws UncheckedIOException if the world could not be written to its store.
      */
     public void stop()
     {
@@ -71,6 +101,18 @@ public class Game
             scheduler.shutdownNow();
             Thread.currentThread().interrupt();
         }
+
+        if (this.world != null)
+        {
+            try
+            {
+                this.world.checkpoint();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("Failed to write a checkpoint of the world.", e);
+            }
+        }
     }
 
     /**
@@ -86,5 +128,29 @@ public class Game
     private void update()
     {
         logger.info("Game update");
+
+        if (this.world == null)
+        {
+            return;
+        }
+
+        // An exception would cancel every following tick, so a failed tick or checkpoint is retried on the next one
+        try
+        {
+            this.world.tick();
+        }
+        catch (RuntimeException e)
+        {
+            logger.warning("Failed to advance the world: " + e.getMessage());
+        }
+
+        try
+        {
+            this.world.checkpointIfDue();
+        }
+        catch (IOException | UncheckedIOException e)
+        {
+            logger.warning("Failed to write a checkpoint of the world: " + e.getMessage());
+        }
     }
 }
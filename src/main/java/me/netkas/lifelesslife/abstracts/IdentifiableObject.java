@@ -1,8 +1,14 @@
 package me.netkas.lifelesslife.abstracts;
 
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
 public abstract class IdentifiableObject
 {
-    private final String uuid;
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id;
+    private volatile String uuid;
 
     /**
      * Constructs an IdentifiableObject with the specified UUID.
@@ -11,28 +17,54 @@ public abstract class IdentifiableObject
      */
     public IdentifiableObject(String uuid)
     {
+        this.id = NEXT_ID.incrementAndGet();
         this.uuid = uuid;
     }
 
     /**
      * Default constructor for IdentifiableObject.
      *
-     * This constructor initializes the object with a unique identifier (UUID)
-     * by generating a random UUID string.
+     * This constructor only assigns a compact process-wide identifier, the UUID string is generated
+     * the first time it is requested.
      */
     public IdentifiableObject()
     {
-        this.uuid = java.util.UUID.randomUUID().toString();
+        this.id = NEXT_ID.incrementAndGet();
+    }
+
+    /**
+     * Retrieves the compact identifier of this IdentifiableObject, unique within the running process.
+     *
+     * @return the positive identifier of this object
+     */
+    public long getId()
+    {
+        return this.id;
     }
 
     /**
      * Retrieves the universally unique identifier (UUID) of this IdentifiableObject.
+     * The UUID is generated on first use and stays the same afterwards.
      *
      * @return the UUID in String format
      */
     public String getUUID()
     {
-        return this.uuid;
+        String result = this.uuid;
+        if (result == null)
+        {
+            synchronized (this)
+            {
+                result = this.uuid;
+                if (result == null)
+                {
+                    result = UUID.randomUUID().toString();
+                    this.uuid = result;
+                }
+            }
+        }
+
+        return result;
     }
 
     /**
@@ -43,6 +75,6 @@ public abstract class IdentifiableObject
     @Override
     public String toString()
     {
-        return this.uuid;
+        return this.getUUID();
     }
 }
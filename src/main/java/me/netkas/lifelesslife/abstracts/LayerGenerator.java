@@ -1,9 +1,11 @@
 package me.netkas.lifelesslife.abstracts;
 
+import me.netkas.lifelesslife.enums.AreaRegionType;
 import me.netkas.lifelesslife.enums.DensityLevel;
 import me.netkas.lifelesslife.objects.AreaChunk;
 
 import java.util.Random;
+import java.util.Set;
 import java.util.logging.Logger;
 
 public abstract class LayerGenerator
@@ -11,4 +13,29 @@ public abstract class LayerGenerator
     protected final Logger logger = Logger.getLogger(this.getClass().getName());
 
     public abstract void generateLayer(AreaChunk chunk, DensityLevel level, Random random);
+
+    /**
+     * Returns the region types the layer expects to exist before it runs.
+     * A layer is always run after every layer writing one of these types.
+     *
+     * @return the region types read by the layer
+     */
+    public abstract Set<AreaRegionType> getReads();
+
+    /**
+     * Returns the region types the layer adds to a chunk.
+     *
+     * @return the region types written by the layer
+     */
+    public abstract Set<AreaRegionType> getWrites();
+
+    /**
+     * Returns the name the layer is recorded under once it was generated for a chunk.
+     *
+     * @return the name of the layer
+     */
+    public String getName()
+    {
+        return this.getClass().getSimpleName();
+    }
 }
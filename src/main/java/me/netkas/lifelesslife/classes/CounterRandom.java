@@ -0,0 +1,88 @@
+package me.netkas.lifelesslife.classes;
+
+import me.netkas.lifelesslife.records.WorldSeed;
+
+public final class CounterRandom
+{
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+
+    /**
+     * Constructs a stateless random source. Every value is computed by hashing the seed together with the
+     * coordinates of a cell and a purpose, so values can be drawn in any order, from any thread and without
+     * allocating, and the same inputs always produce the same value.
+     *
+     * @param seed the seed of the source
+     */
+    public CounterRandom(long seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * Constructs a stateless random source for a node of the world seed tree, typically a chunk.
+     *
+     * @param seed the seed of the source
+     */
+    public CounterRandom(WorldSeed seed)
+    {
+        this(seed.seed());
+    }
+
+    public long getSeed()
+    {
+        return this.seed;
+    }
+
+    /**
+     * Returns the random bits assigned to a cell for the given purpose.
+     * Different purposes yield unrelated values for the same cell, so independent decisions about a cell
+     * should each use their own purpose.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @param purpose the purpose of the value
+     * @return 64 random bits
+     */
+    public long nextLong(int x, int y, int purpose)
+    {
+        long value = WorldSeed.mix(this.seed + purpose * GOLDEN_GAMMA);
+        value = WorldSeed.mix(value + (((long) x << 32) | (y & 0xFFFFFFFFL)) * GOLDEN_GAMMA);
+        return value;
+    }
+
+    /**
+     * Returns a random integer between 0 (inclusive) and the bound (exclusive) assigned to a cell for the given
+     * purpose, using the upper bits of the hash to avoid the bias of a plain modulo.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @param purpose the purpose of the value
+     * @param bound the upper bound, must be positive
+     * @return a random integer in [0, bound)
+     * @throws IllegalArgumentException if the bound is not positive
+     */
+    public int nextInt(int x, int y, int purpose, int bound)
+    {
+        if (bound <= 0)
+        {
+            throw new IllegalArgumentException("The bound must be positive, got: " + bound);
+        }
+
+        return (int) (((this.nextLong(x, y, purpose) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Returns a random double between 0.0 (inclusive) and 1.0 (exclusive) assigned to a cell for the given purpose.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @param purpose the purpose of the value
+     * @return a random double in [0.0, 1.0)
+     */
+    public double nextDouble(int x, int y, int purpose)
+    {
+        return (this.nextLong(x, y, purpose) >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,54 @@
+package me.netkas.lifelesslife.classes;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+public final class MemoryUtilities
+{
+    /**
+     * Allocates a zeroed segment holding the given number of values of the layout.
+     * Without an arena the segment is backed by a Java array, so the same accessors work for heap and off-heap
+     * storage and the memory is reclaimed by the garbage collector as usual.
+     *
+     * @param arena the arena to allocate the segment from, or null to allocate it on the heap
+     * @param layout the layout of a single value, either JAVA_BYTE or JAVA_INT
+     * @param count the number of values
+     * @return the allocated segment
+     * @throws IllegalArgumentException if the layout is not supported on the heap
+     */
+    public static MemorySegment allocate(Arena arena, ValueLayout layout, int count)
+    {
+        if (arena != null)
+        {
+            return arena.allocate(layout.byteSize() * count, layout.byteAlignment());
+        }
+
+        if (layout.equals(ValueLayout.JAVA_INT))
+        {
+            return MemorySegment.ofArray(new int[count]);
+        }
+
+        if (layout.equals(ValueLayout.JAVA_BYTE))
+        {
+            return MemorySegment.ofArray(new byte[count]);
+        }
+
+        throw new IllegalArgumentException("Unsupported layout: " + layout);
+    }
+
+    /**
+     * Allocates a segment with the same contents as the source, copying them in bulk.
+     *
+     * @param source the segment to copy
+     * @param arena the arena to allocate the copy from, or null to allocate it on the heap
+     * @param layout the layout of a single value of the source
+     * @return the copy of the segment
+     */
+    public static MemorySegment copy(MemorySegment source, Arena arena, ValueLayout layout)
+    {
+        final MemorySegment copy = allocate(arena, layout, Math.toIntExact(source.byteSize() / layout.byteSize()));
+        MemorySegment.copy(source, 0, copy, 0, source.byteSize());
+        return copy;
+    }
+}
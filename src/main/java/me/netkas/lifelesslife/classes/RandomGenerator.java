@@ -1,18 +1,18 @@
 package me.netkas.lifelesslife.classes;
 
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public final class RandomGenerator
 {
-    private final static Random instance = new Random();
-
     /**
-     * Returns the instance of the Random class.
+     * Returns the random instance of the calling thread, so that threads generating chunks in parallel do not
+     * contend on a shared seed. The instance must not be handed to other threads.
      *
-     * @return The instance of RandomGenerator.
+     * @return The random instance of the calling thread.
      */
     public static Random getInstance()
     {
-        return instance;
+        return ThreadLocalRandom.current();
     }
 }
@@ -29,6 +29,31 @@ public final class RandomUtilities
         return random.nextInt(PRECISION) < scaledChance;
     }
 
+    /**
+     * Determines if an event occurs at a cell based on a percentage chance, drawing from a stateless source so that
+     * the decision for a cell does not depend on the order cells are visited in.
+     * @param chance The percentage chance (0-100)
+     * @param random The CounterRandom instance to use
+     * @param x The x-coordinate of the cell
+     * @param y The y-coordinate of the cell
+     * @param purpose The purpose of the decision
+     * @return true if the event occurs
+     * @throws IllegalArgumentException if chance is not between 0 and 100
+     */
+    public static boolean randomChance(int chance, CounterRandom random, int x, int y, int purpose)
+    {
+        if (chance < 0 || chance > 100)
+        {
+            throw new IllegalArgumentException("Chance must be between 0 and 100, got: " + chance);
+        }
+
+        if (chance == 0) return false;
+        if (chance == 100) return true;
+
+        int scaledChance = chance * (PRECISION / 100);
+        return random.nextInt(x, y, purpose, PRECISION) < scaledChance;
+    }
+
     /**
      * More precise version that accepts floating-point chances.
      * @param chance The percentage chance (0.0-100.0)
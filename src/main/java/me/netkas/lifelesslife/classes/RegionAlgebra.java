@@ -0,0 +1,192 @@
+package me.netkas.lifelesslife.classes;
+
+import me.netkas.lifelesslife.interfaces.RegionInterface;
+import me.netkas.lifelesslife.objects.point_region.BitmaskRegion;
+import me.netkas.lifelesslife.objects.point_region.BoundingBoxRegion;
+import me.netkas.lifelesslife.objects.point_region.LineRegion;
+import me.netkas.lifelesslife.objects.point_region.ScanlineRegion;
+import me.netkas.lifelesslife.records.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class RegionAlgebra
+{
+    /**
+     * Determines if two regions share at least one point.
+     * Bounding boxes and lines are compared in closed form as axis-aligned rectangles, any other region is
+     * checked by probing the smaller side against the other region's own contains lookup.
+     *
+     * @param a the first region
+     * @param b the second region
+     * @return true if the regions share at least one point, false otherwise
+     */
+    public static boolean intersects(RegionInterface a, RegionInterface b)
+    {
+        BoundingBoxRegion overlap = getOverlap(a, b);
+        if (overlap == null)
+        {
+            return false;
+        }
+
+        if (isRectangular(a) && isRectangular(b))
+        {
+            return true;
+        }
+
+        if (isRectangular(a))
+        {
+            return anyInOverlap(overlap, b, a);
+        }
+
+        if (isRectangular(b))
+        {
+            return anyInOverlap(overlap, a, b);
+        }
+
+        RegionInterface smaller = a.size() <= b.size() ? a : b;
+        RegionInterface larger = smaller == a ? b : a;
+
+        return anyInOverlap(overlap, smaller, larger);
+    }
+
+    /**
+     * Returns the points shared by two regions, ordered by their y-coordinate and x-coordinate in case of tie.
+     *
+     * @param a the first region
+     * @param b the second region
+     * @return the points contained in both regions, empty if they do not intersect
+     */
+    public static List<Point> intersection(RegionInterface a, RegionInterface b)
+    {
+        List<Point> points = new ArrayList<>();
+        BoundingBoxRegion overlap = getOverlap(a, b);
+
+        if (overlap == null)
+        {
+            return points;
+        }
+
+        if (isRectangular(a) && isRectangular(b))
+        {
+            overlap.anyPointOrdered((x, y) -> !points.add(new Point(x, y)));
+            return points;
+        }
+
+        RegionInterface smaller = a.size() <= b.size() ? a : b;
+        RegionInterface larger = smaller == a ? b : a;
+
+        if (area(overlap) <= smaller.size())
+        {
+            overlap.anyPointOrdered((x, y) ->
+            {
+                if (a.contains(x, y) && b.contains(x, y))
+                {
+                    points.add(new Point(x, y));
+                }
+
+                return false;
+            });
+        }
+        else
+        {
+            smaller.anyPointOrdered((x, y) ->
+            {
+                if (larger.contains(x, y))
+                {
+                    points.add(new Point(x, y));
+                }
+
+                return false;
+            });
+        }
+
+        return points;
+    }
+
+    /**
+     * Returns the overlap of the bounding boxes of two regions.
+     * For bounding boxes and lines this is exactly the set of points they share.
+     *
+     * @param a the first region
+     * @param b the second region
+     * @return the bounding box shared by both regions, or null if their bounding boxes do not overlap or either
+     *         region is empty
+     */
+    public static BoundingBoxRegion getOverlap(RegionInterface a, RegionInterface b)
+    {
+        // An empty region has no bounding box to overlap
+        if (isEmpty(a) || isEmpty(b))
+        {
+            return null;
+        }
+
+        BoundingBoxRegion first = a.getBounds();
+        BoundingBoxRegion second = b.getBounds();
+
+        int left = Math.max(first.topLeft().x(), second.topLeft().x());
+        int top = Math.max(first.topLeft().y(), second.topLeft().y());
+        int right = Math.min(first.bottomRight().x(), second.bottomRight().x());
+        int bottom = Math.min(first.bottomRight().y(), second.bottomRight().y());
+
+        if (left > right || top > bottom)
+        {
+            return null;
+        }
+
+        return new BoundingBoxRegion(new Point(left, top), new Point(right, bottom));
+    }
+
+    /**
+     * Determines if the region holds no point at all. Only regions built from an arbitrary set of points can be empty.
+     *
+     * @param region the region to check
+     * @return true if the region is empty, false otherwise
+     */
+    private static boolean isEmpty(RegionInterface region)
+    {
+        return (region instanceof ScanlineRegion scanline && scanline.isEmpty()) ||
+                (region instanceof BitmaskRegion bitmask && bitmask.isEmpty());
+    }
+
+    /**
+     * Determines if the region covers every point of its bounding box.
+     *
+     * @param region the region to check
+     * @return true if the region is a bounding box or a line, false otherwise
+     */
+    private static boolean isRectangular(RegionInterface region)
+    {
+        return region instanceof BoundingBoxRegion || region instanceof LineRegion;
+    }
+
+    /**
+     * Returns the number of points covered by a bounding box, both corners inclusive.
+     *
+     * @param box the bounding box
+     * @return the number of points in the bounding box
+     */
+    private static long area(BoundingBoxRegion box)
+    {
+        return (long) (box.getWidth() + 1) * (box.getHeight() + 1);
+    }
+
+    /**
+     * Determines if a point of the candidate region inside the overlap is contained by the other region,
+     * walking whichever of the overlap and the candidate region has fewer points.
+     *
+     * @param overlap the overlap of the bounding boxes of both regions
+     * @param candidate the region whose points are tested
+     * @param other the region probed with contains
+     * @return true if the regions share a point, false otherwise
+     */
+    private static boolean anyInOverlap(BoundingBoxRegion overlap, RegionInterface candidate, RegionInterface other)
+    {
+        if (area(overlap) <= candidate.size())
+        {
+            return overlap.anyPoint((x, y) -> candidate.contains(x, y) && other.contains(x, y));
+        }
+
+        return candidate.anyPoint((x, y) -> overlap.contains(x, y) && other.contains(x, y));
+    }
+}
@@ -16,11 +16,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public final class ResourceFinder {
     private static final ClassLoader classLoader = ResourceFinder.class.getClassLoader();
-    private static final Map<NameResources, List<String>> cachedNameResources = new HashMap<>();
+    private static final Map<NameResources, List<String>> cachedNameResources = new ConcurrentHashMap<>();
+    private static final Map<NameResources, Map<String, Integer>> cachedNameIndices = new ConcurrentHashMap<>();
     private static final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
 
     /**
@@ -84,7 +86,7 @@ public final class ResourceFinder {
         return Collections.unmodifiableMap(resourceDefinitions);
     }
 
-    private static void cacheNameResource(NameResources name) {
+    private static List<String> loadNameResource(NameResources name) {
         InputStream resourceStream = getNamedResourceDefinitions().get(name).getResource();
         if (resourceStream == null) {
             throw new RuntimeException("Resource not found for: " + name);
@@ -92,22 +94,54 @@ public final class ResourceFinder {
 
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(resourceStream))) {
             List<String> lines = reader.lines().collect(Collectors.toList());
-            cachedNameResources.put(name, Collections.unmodifiableList(lines));
+            return Collections.unmodifiableList(lines);
         } catch (IOException e) {
             throw new RuntimeException("Unable to read the resource file for caching.", e);
         }
     }
 
-    public static String getRandomName(NameResources name, Random random) {
+    /**
+     * Retrieves every name of a name resource, in the order of the resource file.
+     *
+     * @param name the name resource
+     * @return the names of the resource
+     */
+    public static List<String> getNames(NameResources name) {
         if (name == null) {
             throw new IllegalArgumentException("The NameResources object cannot be null.");
         }
 
-        if (!cachedNameResources.containsKey(name)) {
-            cacheNameResource(name);
+        return cachedNameResources.computeIfAbsent(name, ResourceFinder::loadNameResource);
+    }
+
+    /**
+     * Retrieves the position of a name within a name resource, so that it can be stored as a number.
+     *
+     * @param name the name resource
+     * @param value the name to look up
+     * @return the index of the name, or -1 if the resource does not contain it
+     */
+    public static int getNameIndex(NameResources name, String value) {
+        Map<String, Integer> indices = cachedNameIndices.computeIfAbsent(name, key -> {
+            List<String> names = getNames(key);
+            Map<String, Integer> result = new HashMap<>(names.size() * 2);
+            for (int i = names.size() - 1; i >= 0; i--) {
+                result.put(names.get(i), i);
+            }
+
+            return Collections.unmodifiableMap(result);
+        });
+
+        return indices.getOrDefault(value, -1);
+    }
+
+    public static String getRandomName(NameResources name, Random random) {
+        if (name == null) {
+            throw new IllegalArgumentException("The NameResources object cannot be null.");
         }
 
-        List<String> lines = cachedNameResources.get(name);
+        // Generators running on several threads share the cache, each resource is only loaded once
+        List<String> lines = getNames(name);
 
         if (lines.isEmpty()) {
             return null;
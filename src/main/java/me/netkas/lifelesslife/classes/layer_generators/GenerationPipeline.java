@@ -0,0 +1,194 @@
+package me.netkas.lifelesslife.classes.layer_generators;
+
+import me.netkas.lifelesslife.abstracts.LayerGenerator;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.records.WorldSeed;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class GenerationPipeline
+{
+    private final List<LayerGenerator> order;
+
+    /**
+     * Constructs a pipeline running the layer generators in an order satisfying their declared dependencies.
+     * A layer runs after every other layer writing a type it reads. Layers writing the same type they read keep
+     * their declared order among each other, and layers without a dependency between them as well.
+     *
+     * @param generators the layer generators of the pipeline
+     * @throws IllegalArgumentException if a layer reads a type no layer writes, two layers share a name or the
+     *                                  dependencies form a cycle
+     */
+    public GenerationPipeline(List<LayerGenerator> generators)
+    {
+        final int count = generators.size();
+        Set<String> names = new HashSet<>();
+        Set<AreaRegionType> written = new HashSet<>();
+
+        for (LayerGenerator generator : generators)
+        {
+            if (!names.add(generator.getName()))
+            {
+                throw new IllegalArgumentException("Duplicate layer: " + generator.getName());
+            }
+
+            written.addAll(generator.getWrites());
+        }
+
+        List<List<Integer>> dependents = new ArrayList<>();
+        int[] dependencies = new int[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            dependents.add(new ArrayList<>());
+        }
+
+        for (int reader = 0; reader < count; reader++)
+        {
+            LayerGenerator generator = generators.get(reader);
+            for (AreaRegionType type : generator.getReads())
+            {
+                if (!written.contains(type))
+                {
+                    throw new IllegalArgumentException(String.format("Layer %s reads %s, which no layer writes", generator.getName(), type));
+                }
+
+                for (int writer = 0; writer < count; writer++)
+                {
+                    if (writer == reader || !generators.get(writer).getWrites().contains(type))
+                    {
+                        continue;
+                    }
+
+                    // Two layers writing the type they read run in their declared order
+                    if (generator.getWrites().contains(type) && writer > reader)
+                    {
+                        continue;
+                    }
+
+                    if (!dependents.get(writer).contains(reader))
+                    {
+                        dependents.get(writer).add(reader);
+                        dependencies[reader]++;
+                    }
+                }
+            }
+        }
+
+        // Kahn's algorithm, always taking the ready layer declared first so the order is stable
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < count; i++)
+        {
+            if (dependencies[i] == 0)
+            {
+                ready.add(i);
+            }
+        }
+
+        List<LayerGenerator> resolved = new ArrayList<>(count);
+        while (!ready.isEmpty())
+        {
+            final int current = ready.poll();
+            resolved.add(generators.get(current));
+
+            for (int dependent : dependents.get(current))
+            {
+                if (--dependencies[dependent] == 0)
+                {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (resolved.size() != count)
+        {
+            throw new IllegalArgumentException("The dependencies of the layers form a cycle.");
+        }
+
+        this.order = List.copyOf(resolved);
+    }
+
+    /**
+     * Returns the layer generators in the order they are run.
+     *
+     * @return the resolved order of the layer generators
+     */
+    public List<LayerGenerator> getOrder()
+    {
+        return this.order;
+    }
+
+    /**
+     * Runs every layer not yet generated for the chunk, in order. Every layer draws from the stream of the
+     * chunk seed for its name, so a layer produces the same output no matter which other layers run.
+     *
+     * @param chunk the chunk to generate the layers of
+     * @param level the density level passed to the layer generators
+     * @param chunkSeed the seed of the chunk
+     * @return the chunk
+     */
+    public AreaChunk generate(AreaChunk chunk, DensityLevel level, WorldSeed chunkSeed)
+    {
+        for (int layer = 0; layer < this.order.size(); layer++)
+        {
+            this.generateLayer(chunk, layer, level, chunkSeed);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Runs every layer not yet generated for the chunk on the executor, each layer as a task of its own that is
+     * scheduled once the previous layer of the chunk completed. The layers of a chunk never run at the same
+     * time, but layers of different chunks do, so a layer of one chunk overlaps with other layers of another.
+     *
+     * @param chunk the chunk to generate the layers of
+     * @param level the density level passed to the layer generators
+     * @param chunkSeed the seed of the chunk
+     * @param executor the executor running the layers
+     * @return a future completed with the chunk once every layer was generated
+     */
+    public CompletableFuture<AreaChunk> generateAsync(AreaChunk chunk, DensityLevel level, WorldSeed chunkSeed, Executor executor)
+    {
+        CompletableFuture<AreaChunk> future = CompletableFuture.completedFuture(chunk);
+        for (int layer = 0; layer < this.order.size(); layer++)
+        {
+            final int current = layer;
+            future = future.thenApplyAsync(generated ->
+            {
+                this.generateLayer(generated, current, level, chunkSeed);
+                return generated;
+            }, executor);
+        }
+
+        return future;
+    }
+
+    /**
+     * Runs the layer at the given position of the resolved order unless it was already generated for the chunk.
+     *
+     * @param chunk the chunk to generate the layer of
+     * @param layer the position of the layer
+     * @param level the density level passed to the layer generator
+     * @param chunkSeed the seed of the chunk
+     */
+    private void generateLayer(AreaChunk chunk, int layer, DensityLevel level, WorldSeed chunkSeed)
+    {
+        LayerGenerator generator = this.order.get(layer);
+        if (chunk.isGenerated(generator.getName()))
+        {
+            return;
+        }
+
+        generator.generateLayer(chunk, level, chunkSeed.forLayer(generator.getName()).toRandom());
+        chunk.markGenerated(generator.getName());
+    }
+}
@@ -9,19 +9,40 @@ import me.netkas.lifelesslife.enums.resources.NameResources;
 import me.netkas.lifelesslife.objects.AreaChunk;
 import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
 import me.netkas.lifelesslife.objects.point_region.LineRegion;
+import me.netkas.lifelesslife.objects.point_region.ScanlineRegion;
 import me.netkas.lifelesslife.records.Point;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class MainStreetGenerator extends LayerGenerator
 {
-    private final static int MAX_FAILED_ATTEMPTS = 100;
     private final static int MIN_DISTANCE = 18;
     private final static int MAX_DISTANCE = 25;
+    private final static List<AreaRegionType> MAIN_STREET_TYPES = List.of(AreaRegionType.MAIN_STREET);
+
+    @Override
+    public Set<AreaRegionType> getReads()
+    {
+        return Set.of(AreaRegionType.MAIN_STREET);
+    }
+
+    @Override
+    public Set<AreaRegionType> getWrites()
+    {
+        return Set.of(AreaRegionType.MAIN_STREET);
+    }
 
     /**
      * Generates a layer of main streets within the given AreaChunk based on the
      * specified DensityLevel and Random instance.
+     * Every street starts on an edge of the chunk at a position that is free and at least the sampled distance
+     * away from every other main street along that edge. The admissible positions are tracked per edge and
+     * shrink as streets are placed, so only valid positions are sampled and generation stops as soon as no
+     * position is left.
      *
      * @param chunk The AreaChunk object representing the area where main streets
      *              will be generated.
@@ -33,81 +54,188 @@ public class MainStreetGenerator extends LayerGenerator
     @Override
     public void generateLayer(AreaChunk chunk, DensityLevel level, Random random)
     {
-        int failedAttempts = 0;
-        while((chunk.getRegionUsage(AreaRegionType.MAIN_STREET) < level.getMainStreetDensity()) && (failedAttempts < MAX_FAILED_ATTEMPTS))
+        List<EdgeCandidates> edges = new ArrayList<>();
+        for (CardinalDirection edge : CardinalDirection.values())
         {
-            this.logger.info(String.format("Main Street Occupation: %s/%s", chunk.getRegionUsage(AreaRegionType.MAIN_STREET), level.getMainStreetDensity()));
-
-            // Random starting edge
-            CardinalDirection startingEdge = CardinalDirection.random(random);
-            // The direction the road is going to be built
-            CardinalDirection roadDirection = startingEdge.opposite();
-            // Get a random starting point from the starting edge
-            Point startingPoint = chunk.getEdge(startingEdge).getRandom(random);
-            this.logger.finest("Generated starting point: " + startingPoint);
+            edges.add(new EdgeCandidates(chunk, edge));
+        }
+
+        while(chunk.getRegionUsage(AreaRegionType.MAIN_STREET, true) < level.getMainStreetDensity())
+        {
+            this.logger.fine(() -> String.format("Main Street Occupation: %s/%s", chunk.getRegionUsage(AreaRegionType.MAIN_STREET, true), level.getMainStreetDensity()));
 
-            // First check if the starting point is already occupied
-            if(chunk.regionExists(startingPoint))
+            // Candidates for a larger distance are a subset of the ones for the minimum distance
+            if(edges.stream().allMatch(edge -> edge.getCandidates(MIN_DISTANCE).isEmpty()))
             {
-                this.logger.finest("Starting point is already occupied.");
-                continue;
+                this.logger.fine(String.format("No admissible starting points left. Main Street Occupation: %s/%s", chunk.getRegionUsage(AreaRegionType.MAIN_STREET, true), level.getMainStreetDensity()));
+                return;
+            }
+
+            final int distance = random.nextInt(MIN_DISTANCE, MAX_DISTANCE);
+            List<ScanlineRegion> candidates = new ArrayList<>(edges.size());
+            int total = 0;
+
+            for (EdgeCandidates edge : edges)
+            {
+                ScanlineRegion edgeCandidates = edge.getCandidates(distance);
+                candidates.add(edgeCandidates);
+                total += edgeCandidates.size();
             }
 
-            if(checkConflict(chunk, startingPoint, roadDirection, random.nextInt(MIN_DISTANCE, MAX_DISTANCE)))
+            if(total == 0)
             {
-                this.logger.finest(String.format("Point %s has a conflict.", startingPoint));
-                failedAttempts++;
+                this.logger.finest(String.format("No starting point is %s away from every main street.", distance));
                 continue;
             }
 
+            // Every candidate of every edge is equally likely
+            int index = random.nextInt(total);
+            int edge = 0;
+            while(index >= candidates.get(edge).size())
+            {
+                index -= candidates.get(edge).size();
+                edge++;
+            }
+
+            EdgeCandidates startingEdge = edges.get(edge);
+            Point startingPoint = startingEdge.toPoint(candidates.get(edge).getRandom(random).x());
+            CardinalDirection roadDirection = startingEdge.getEdge().opposite();
+            this.logger.finest("Generated starting point: " + startingPoint);
+
             // Traverse
-            this.logger.finest("No conflicts found. Building road.");
             LineRegion road = chunk.traverseDirection(startingPoint, roadDirection, true);
 
             // Create the region
             this.logger.finest("Adding region to chunk.");
             chunk.addRegion(new MainStreetRegion(road.start(), road.end(), roadDirection, ResourceFinder.getRandomName(NameResources.MAIN_STREETS, random)));
-            failedAttempts = 0;
-        }
 
-        if(failedAttempts >= MAX_FAILED_ATTEMPTS)
-        {
-            this.logger.warning(String.format("Failed to generate main streets due to too many conflicts. Main Street Occupation: %s/%s", chunk.getRegionUsage(AreaRegionType.MAIN_STREET), level.getMainStreetDensity()));
+            road.forEachPoint((x, y) ->
+            {
+                for (EdgeCandidates candidate : edges)
+                {
+                    candidate.block(x, y);
+                }
+            });
         }
     }
 
-    private boolean checkConflict(AreaChunk chunk, Point startingPoint, CardinalDirection direction, int distance)
+    /**
+     * Tracks the positions along an edge of the chunk a main street may start from.
+     * Positions are stored as the x-coordinates of a single-row region, measured along the edge.
+     */
+    private static final class EdgeCandidates
     {
-        LineRegion leftTraversal = chunk.traverseDirection(startingPoint, direction.getLeft(), distance, false);
-
-        if(leftTraversal.size() < MIN_DISTANCE)
+        private final CardinalDirection edge;
+        private final Point origin;
+        private final boolean horizontal;
+        private final int length;
+        private final TreeSet<Integer> blocked;
+        private ScanlineRegion free;
+
+        /**
+         * Collects the free positions of the edge that leave room for the minimum distance on both sides within
+         * the chunk, along with the positions of main streets already crossing the edge.
+         *
+         * @param chunk the chunk
+         * @param edge the edge
+         */
+        private EdgeCandidates(AreaChunk chunk, CardinalDirection edge)
         {
-            return true;
-        }
+            LineRegion line = chunk.getEdge(edge);
+            this.edge = edge;
+            this.origin = line.start();
+            this.horizontal = line.start().y() == line.end().y();
+            this.length = this.horizontal ? line.end().x() - line.start().x() : line.end().y() - line.start().y();
+            this.blocked = new TreeSet<>();
+
+            List<Point> positions = new ArrayList<>();
+            for (int position = MIN_DISTANCE; position < this.length - MIN_DISTANCE; position++)
+            {
+                final Point point = this.toPoint(position);
 
-        for(Point point : leftTraversal.getPoints())
-        {
-            if(!chunk.inBounds(point) || chunk.regionTypeExists(point, AreaRegionType.MAIN_STREET))
+                // The side traversals of a point outside the chunk leave it, which is always a conflict
+                if(chunk.inBounds(point) && !chunk.regionExists(point))
+                {
+                    positions.add(new Point(position, 0));
+                }
+            }
+
+            this.free = new ScanlineRegion(positions);
+
+            if(!this.free.isEmpty())
             {
-                return true;
+                for (int position = 0; position <= this.length; position++)
+                {
+                    if(chunk.regionTypeExists(this.toPoint(position), MAIN_STREET_TYPES))
+                    {
+                        this.blocked.add(position);
+                    }
+                }
             }
         }
 
-        LineRegion rightTraversal = chunk.traverseDirection(startingPoint, direction.getRight(), distance, false);
+        private CardinalDirection getEdge()
+        {
+            return this.edge;
+        }
 
-        if(rightTraversal.size() < MIN_DISTANCE)
+        /**
+         * Returns the point of the chunk at the given position along the edge.
+         *
+         * @param position the position along the edge
+         * @return the point of the chunk
+         */
+        private Point toPoint(int position)
         {
-            return true;
+            return this.horizontal ? new Point(this.origin.x() + position, this.origin.y()) : new Point(this.origin.x(), this.origin.y() + position);
         }
 
-        for(Point point : rightTraversal.getPoints())
+        /**
+         * Returns the free positions that are more than the distance away from every main street on the edge.
+         *
+         * @param distance the distance to keep to other main streets
+         * @return the admissible positions
+         */
+        private ScanlineRegion getCandidates(int distance)
         {
-            if(!chunk.inBounds(point) || chunk.regionTypeExists(point, AreaRegionType.MAIN_STREET))
+            if(this.free.isEmpty() || this.blocked.isEmpty())
             {
-                return true;
+                return this.free;
             }
+
+            final int[] rows = new int[this.blocked.size()];
+            final int[] starts = new int[this.blocked.size()];
+            final int[] ends = new int[this.blocked.size()];
+            int span = 0;
+
+            for (int position : this.blocked)
+            {
+                starts[span] = position - distance;
+                ends[span] = position + distance;
+                span++;
+            }
+
+            return this.free.difference(new ScanlineRegion(rows, starts, ends));
         }
 
-        return false;
+        /**
+         * Removes the point from the admissible positions if it lies on the edge, as it is now a main street.
+         *
+         * @param x the x-coordinate of the point
+         * @param y the y-coordinate of the point
+         */
+        private void block(int x, int y)
+        {
+            final int position = this.horizontal ? x - this.origin.x() : y - this.origin.y();
+            final boolean onEdge = this.horizontal ? y == this.origin.y() : x == this.origin.x();
+
+            if(!onEdge || position < 0 || position > this.length || this.free.isEmpty())
+            {
+                return;
+            }
+
+            this.blocked.add(position);
+            this.free = this.free.difference(new ScanlineRegion(new int[]{0}, new int[]{position}, new int[]{position}));
+        }
     }
 }
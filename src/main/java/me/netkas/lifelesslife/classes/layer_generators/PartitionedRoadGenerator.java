@@ -0,0 +1,268 @@
+package me.netkas.lifelesslife.classes.layer_generators;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.abstracts.LayerGenerator;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
+import me.netkas.lifelesslife.objects.area_region.RoadRegion;
+import me.netkas.lifelesslife.objects.point_region.LineRegion;
+import me.netkas.lifelesslife.objects.point_region.PointRegion;
+import me.netkas.lifelesslife.records.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+public class PartitionedRoadGenerator extends LayerGenerator
+{
+    public final static int DEFAULT_SECTOR_SIZE = 256;
+    private final static int GUARD_BAND = RoadGenerator.MIN_DISTANCE;
+
+    private final RoadGenerator generator;
+    private final int sectorSize;
+    private final Executor executor;
+
+    /**
+     * Constructs a partitioned road generator with the default sector size, generating the sectors on the
+     * common ForkJoinPool.
+     */
+    public PartitionedRoadGenerator()
+    {
+        this(DEFAULT_SECTOR_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a partitioned road generator.
+     *
+     * @param sectorSize the width and height of the sectors the chunk is split into
+     * @param executor the executor generating the sectors
+     * @throws IllegalArgumentException if a sector would not be wider than the guard band separating it from the next
+     */
+    public PartitionedRoadGenerator(int sectorSize, Executor executor)
+    {
+        if (sectorSize <= GUARD_BAND * 2)
+        {
+            throw new IllegalArgumentException(String.format("The sector size must be greater than %s.", GUARD_BAND * 2));
+        }
+
+        this.generator = new RoadGenerator();
+        this.sectorSize = sectorSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public Set<AreaRegionType> getReads()
+    {
+        return Set.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD);
+    }
+
+    @Override
+    public Set<AreaRegionType> getWrites()
+    {
+        return Set.of(AreaRegionType.ROAD);
+    }
+
+    /**
+     * Generates the roads of the chunk in parallel. The chunk is split into sectors whose interiors are separated
+     * by guard bands as wide as the minimum distance between roads, so roads generated in different interiors
+     * always keep that distance from each other. Every interior is generated on a chunk of its own, holding the
+     * streets crossing it, and its roads are translated back once every interior completed. Roads that stopped at
+     * the border of their interior are then extended the way a straight road is built, and a serial pass of the
+     * road generator fills the guard bands and whatever density is left.
+     * Every sector draws from a seed taken from the random instance up front, so the result does not depend on
+     * the executor.
+     *
+     * @param chunk the chunk to generate the roads of
+     * @param level the density level of the roads
+     * @param random the random instance
+     */
+    @Override
+    public void generateLayer(AreaChunk chunk, DensityLevel level, Random random)
+    {
+        List<int[]> sectors = this.getSectors(chunk);
+        if (sectors.size() < 2)
+        {
+            this.generator.generateLayer(chunk, level, random);
+            return;
+        }
+
+        List<CompletableFuture<List<AreaRegion>>> futures = new ArrayList<>(sectors.size());
+        for (int[] sector : sectors)
+        {
+            final long seed = random.nextLong();
+            futures.add(CompletableFuture.supplyAsync(() -> this.generateSector(chunk, sector, level, new Random(seed)), this.executor));
+        }
+
+        // The sectors read the chunk until every one of them completed
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        List<AreaRegion> roads = new ArrayList<>();
+        for (CompletableFuture<List<AreaRegion>> future : futures)
+        {
+            for (AreaRegion road : future.join())
+            {
+                chunk.addRegion(road);
+                roads.add(road);
+            }
+        }
+
+        for (AreaRegion road : roads)
+        {
+            this.extendRoad(chunk, road);
+        }
+
+        this.logger.fine(() -> String.format("Road Occupation after %s sectors: %s/%s", sectors.size(), chunk.getRegionUsage(AreaRegionType.ROAD, true), level.getRoadDensity()));
+        this.generator.generateLayer(chunk, level, random);
+    }
+
+    /**
+     * Splits the chunk into sectors, returning the bounds of their interiors as the inclusive minimum and
+     * exclusive maximum x and y. The interiors of adjacent sectors are separated by a guard band, the last sector
+     * of a row or column takes up the remainder of the chunk.
+     *
+     * @param chunk the chunk
+     * @return the bounds of the interiors
+     */
+    private List<int[]> getSectors(AreaChunk chunk)
+    {
+        final int columns = Math.max(1, chunk.getWidth() / this.sectorSize);
+        final int rows = Math.max(1, chunk.getHeight() / this.sectorSize);
+        List<int[]> sectors = new ArrayList<>(columns * rows);
+
+        for (int row = 0; row < rows; row++)
+        {
+            final int minY = row == 0 ? 0 : row * this.sectorSize + GUARD_BAND;
+            final int maxY = row == rows - 1 ? chunk.getHeight() : (row + 1) * this.sectorSize;
+
+            for (int column = 0; column < columns; column++)
+            {
+                final int minX = column == 0 ? 0 : column * this.sectorSize + GUARD_BAND;
+                final int maxX = column == columns - 1 ? chunk.getWidth() : (column + 1) * this.sectorSize;
+                sectors.add(new int[]{minX, minY, maxX, maxY});
+            }
+        }
+
+        return sectors;
+    }
+
+    /**
+     * Generates the roads of a single interior on a chunk of its own.
+     * The source chunk is only read, which is safe while no sector writes to it.
+     *
+     * @param chunk the source chunk
+     * @param sector the bounds of the interior
+     * @param level the density level of the roads
+     * @param random the random instance of the sector
+     * @return the new roads, translated to the coordinates of the source chunk
+     */
+    private List<AreaRegion> generateSector(AreaChunk chunk, int[] sector, DensityLevel level, Random random)
+    {
+        AreaChunk interior = new AreaChunk(sector[3] - sector[1], sector[2] - sector[0]);
+        final int offsetX = sector[0];
+        final int offsetY = sector[1];
+
+        for (AreaRegion region : chunk.getRegions(AreaRegionType.MAIN_STREET))
+        {
+            MainStreetRegion street = (MainStreetRegion) region;
+            LineRegion line = (LineRegion) street.getRegion();
+            final int minX = Math.max(Math.min(line.start().x(), line.end().x()), sector[0]);
+            final int maxX = Math.min(Math.max(line.start().x(), line.end().x()), sector[2] - 1);
+            final int minY = Math.max(Math.min(line.start().y(), line.end().y()), sector[1]);
+            final int maxY = Math.min(Math.max(line.start().y(), line.end().y()), sector[3] - 1);
+
+            if (minX <= maxX && minY <= maxY)
+            {
+                interior.addRegion(new MainStreetRegion(new Point(minX - offsetX, minY - offsetY), new Point(maxX - offsetX, maxY - offsetY), street.getDirection(), street.getBaseName()));
+            }
+        }
+
+        for (AreaRegion region : chunk.getRegions(AreaRegionType.ROAD))
+        {
+            RoadRegion road = (RoadRegion) region;
+            List<Point> points = new ArrayList<>();
+            for (Point point : road.getRegion().getPoints())
+            {
+                if (point.x() >= sector[0] && point.x() < sector[2] && point.y() >= sector[1] && point.y() < sector[3])
+                {
+                    points.add(new Point(point.x() - offsetX, point.y() - offsetY));
+                }
+            }
+
+            if (!points.isEmpty())
+            {
+                interior.addRegion(new RoadRegion(new PointRegion(points, false), road.getDirection(), road.getBaseName()));
+            }
+        }
+
+        final int existing = interior.getRegions(AreaRegionType.ROAD).size();
+        this.generator.generateLayer(interior, level, random);
+
+        List<AreaRegion> generated = interior.getRegions(AreaRegionType.ROAD);
+        List<AreaRegion> roads = new ArrayList<>(generated.size() - existing);
+        for (AreaRegion region : generated.subList(existing, generated.size()))
+        {
+            roads.add(translate((RoadRegion) region, offsetX, offsetY));
+        }
+
+        return roads;
+    }
+
+    /**
+     * Extends a straight road that ran into the border of its interior rather than a street or a conflict,
+     * following the same rule as a straight road built on the whole chunk.
+     *
+     * @param chunk the chunk holding the road
+     * @param region the road
+     */
+    private void extendRoad(AreaChunk chunk, AreaRegion region)
+    {
+        RoadRegion road = (RoadRegion) region;
+        if (!(road.getRegion() instanceof LineRegion line))
+        {
+            return;
+        }
+
+        // Straight roads run from the point branching off their street towards their end
+        final CardinalDirection direction = road.getDirection();
+        final Point end = line.end();
+
+        Point extended = end;
+        Point next = end.toDirection(direction);
+        while (!this.generator.checkConflict(chunk, next, direction, RoadGenerator.MIN_DISTANCE))
+        {
+            extended = next;
+            next = next.toDirection(direction);
+        }
+
+        if (extended.equals(end))
+        {
+            return;
+        }
+
+        chunk.removeRegion(road);
+        chunk.addRegion(new RoadRegion(new LineRegion(line.start(), extended), direction, road.getBaseName()));
+    }
+
+    private static AreaRegion translate(RoadRegion road, int offsetX, int offsetY)
+    {
+        if (road.getRegion() instanceof LineRegion line)
+        {
+            return new RoadRegion(new LineRegion(new Point(line.start().x() + offsetX, line.start().y() + offsetY), new Point(line.end().x() + offsetX, line.end().y() + offsetY)), road.getDirection(), road.getBaseName());
+        }
+
+        List<Point> points = new ArrayList<>();
+        for (Point point : road.getRegion().getPointsOrdered())
+        {
+            points.add(new Point(point.x() + offsetX, point.y() + offsetY));
+        }
+
+        return new RoadRegion(new PointRegion(points, false), road.getDirection(), road.getBaseName());
+    }
+}
@@ -17,19 +17,36 @@ import me.netkas.lifelesslife.objects.point_region.PointRegion;
 import me.netkas.lifelesslife.records.Point;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 public class RoadGenerator extends LayerGenerator
 {
-    private final static int MAX_FAILED_ATTEMPTS = 5000;
-    private final static int MIN_DISTANCE = 3;
+    private final static int MAX_BRANCH_FAILURES = 4; // Failed attempts before a branch point is given up
+    private final static int ROAD_BRANCH_CHANCE = 30;
+    final static int MIN_DISTANCE = 3;
     private final static int MAX_DISTANCE = 8;
     private final static int MIN_LENGTH = 7;
     private final static int MAX_LENGTH = 10;
     private final static int TURN_CHANCE = 50;
     private final static int MIN_TURN_LENGTH = 4; // Minimum length before attempting a turn
     private final static int POST_TURN_MIN_LENGTH = 4; // Minimum length after a turn
+    private final static List<AreaRegionType> STREET_TYPES = List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD);
+
+    @Override
+    public Set<AreaRegionType> getReads()
+    {
+        return Set.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD);
+    }
+
+    @Override
+    public Set<AreaRegionType> getWrites()
+    {
+        return Set.of(AreaRegionType.ROAD);
+    }
 
     /**
      * Generates a layer of main streets within the given AreaChunk based on the
@@ -45,41 +62,47 @@ public class RoadGenerator extends LayerGenerator
     @Override
     public void generateLayer(AreaChunk chunk, DensityLevel level, Random random)
     {
-        int failedAttempts = 0;
-        while((chunk.getRegionUsage(AreaRegionType.ROAD) < level.getRoadDensity()) && (failedAttempts < MAX_FAILED_ATTEMPTS))
+        BranchFrontier frontier = new BranchFrontier(chunk);
+        for(AreaRegionType type : STREET_TYPES)
+        {
+            for(AreaRegion region : chunk.getRegions(type))
+            {
+                frontier.addRegion(region);
+            }
+        }
+
+        while((chunk.getRegionUsage(AreaRegionType.ROAD, true) < level.getRoadDensity()) && !frontier.isEmpty())
         {
-            this.logger.info(String.format("Road Occupation: %s/%s", chunk.getRegionUsage(AreaRegionType.ROAD), level.getRoadDensity()));
+            this.logger.fine(() -> String.format("Road Occupation: %s/%s, Branch Points: %s", chunk.getRegionUsage(AreaRegionType.ROAD, true), level.getRoadDensity(), frontier.size()));
 
-            // Random starting main street
-            AreaRegion randomStreet = this.getRandomRoad(chunk, random);
-            // The direction the road is going to be built branching off the main street (left or right randomly)
-            CardinalDirection roadDirection = this.determineDirection(randomStreet, random);
-            // Get a random starting point from the main street (One step away from the main street for branching)
-            Point startingPoint = randomStreet.getRegion().getRandom(random).toDirection(roadDirection);
+            // A branch point one step away from a main street or road, facing away from it
+            Branch branch = frontier.sample(random);
+            AreaRegion road = this.buildRoad(chunk, branch.start, level, branch.direction, random);
 
-            if(!this.buildRoad(chunk, startingPoint, level, roadDirection, random))
+            if(road == null)
             {
-                failedAttempts++;
+                frontier.fail(branch);
                 continue;
             }
 
-            failedAttempts = 0;
+            frontier.invalidateAround(road);
+            frontier.addRegion(road);
         }
 
-        if(failedAttempts >= MAX_FAILED_ATTEMPTS)
+        if(frontier.isEmpty() && chunk.getRegionUsage(AreaRegionType.ROAD, true) < level.getRoadDensity())
         {
-            this.logger.warning(String.format("Failed to generate main streets due to too many conflicts. Main Street Occupation: %s/%s", chunk.getRegionUsage(AreaRegionType.MAIN_STREET), level.getMainStreetDensity()));
+            this.logger.warning(String.format("Stopped generating roads as no viable branch point is left. Road Occupation: %s/%s", chunk.getRegionUsage(AreaRegionType.ROAD, true), level.getRoadDensity()));
         }
     }
 
-    private boolean buildRoad(AreaChunk chunk, Point startingPoint, DensityLevel level, CardinalDirection direction, Random random)
+    private AreaRegion buildRoad(AreaChunk chunk, Point startingPoint, DensityLevel level, CardinalDirection direction, Random random)
     {
         // Always consider turning roads with a higher base chance
         if(RandomUtilities.randomChance(50, random))
         {
-            boolean turnResult = this.buildTurningRoad(chunk, startingPoint, direction, random);
-            if(turnResult) {
-                return true;
+            AreaRegion turnResult = this.buildTurningRoad(chunk, startingPoint, direction, random);
+            if(turnResult != null) {
+                return turnResult;
             }
             // If turning road fails, fallback to straight road
         }
@@ -87,8 +110,8 @@ public class RoadGenerator extends LayerGenerator
         return this.buildStraightRoad(chunk, startingPoint, direction, random);
     }
 
-    private boolean buildTurningRoad(AreaChunk chunk, Point startingPoint,
-                                     CardinalDirection direction, Random random) {
+    private AreaRegion buildTurningRoad(AreaChunk chunk, Point startingPoint,
+                                        CardinalDirection direction, Random random) {
         List<Point> roadPoints = new ArrayList<>();
         Point currentPoint = startingPoint;
         CardinalDirection currentDirection = direction;
@@ -96,7 +119,7 @@ public class RoadGenerator extends LayerGenerator
 
         // Initial validation
         if (checkConflict(chunk, startingPoint, direction, MIN_DISTANCE)) {
-            return false;
+            return null;
         }
 
         while (roadPoints.size() < MAX_LENGTH) {
@@ -129,50 +152,32 @@ public class RoadGenerator extends LayerGenerator
         // Validate final road
         if (roadPoints.size() < MIN_LENGTH ||
                 (hasTurned && roadPoints.size() < MIN_TURN_LENGTH + POST_TURN_MIN_LENGTH)) {
-            return false;
+            return null;
         }
 
         // Ensure road connects to something
         if (!hasValidConnection(chunk, roadPoints.get(roadPoints.size() - 1))) {
-            return false;
+            return null;
         }
 
         // Create road region
         try {
-            chunk.addRegion(new RoadRegion(
-                    new PointRegion(roadPoints),
+            AreaRegion road = new RoadRegion(
+                    new PointRegion(roadPoints, false),
                     direction,
                     ResourceFinder.getRandomName(NameResources.STREET_NAMES, random)
-            ));
-            return true;
+            );
+            chunk.addRegion(road);
+            return road;
         } catch (Exception e) {
             this.logger.warning("Failed to generate road: " + e.getMessage());
-            return false;
+            return null;
         }
     }
 
     private boolean isValidPoint(AreaChunk chunk, Point point, CardinalDirection direction) {
-        if (!chunk.inBounds(point)) {
-            return false;
-        }
-
-        // Check if point is already occupied
-        if (chunk.regionTypeExists(point, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD))) {
-            return false;
-        }
-
-        // Check minimum spacing requirement
-        for (int dist = 1; dist <= MIN_DISTANCE; dist++) {
-            for (CardinalDirection dir : CardinalDirection.values()) {
-                Point checkPoint = point.toDirection(dir, dist);
-                if (chunk.inBounds(checkPoint) &&
-                        chunk.regionTypeExists(checkPoint, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD))) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+        // The point must be free and keep the minimum spacing to every road and main street
+        return chunk.isClear(point.x(), point.y(), MIN_DISTANCE, STREET_TYPES);
     }
 
     private boolean hasValidConnection(AreaChunk chunk, Point point) {
@@ -184,7 +189,7 @@ public class RoadGenerator extends LayerGenerator
         for (CardinalDirection dir : CardinalDirection.values()) {
             Point adjacent = point.toDirection(dir);
             if (chunk.inBounds(adjacent) &&
-                    chunk.regionTypeExists(adjacent, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD))) {
+                    chunk.regionTypeExists(adjacent, STREET_TYPES)) {
                 return true;
             }
         }
@@ -193,25 +198,8 @@ public class RoadGenerator extends LayerGenerator
     }
 
     private boolean isValidRoadPoint(AreaChunk chunk, Point point, CardinalDirection direction) {
-        if(!chunk.inBounds(point)) return false;
-
-        // Check immediate point
-        if(chunk.regionTypeExists(point, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD))) {
-            return false;
-        }
-
-        // Check minimum spacing requirement
-        for(CardinalDirection dir : CardinalDirection.values()) {
-            for(int dist = 1; dist <= MIN_DISTANCE; dist++) {
-                Point checkPoint = point.toDirection(dir, dist);
-                if(chunk.inBounds(checkPoint) &&
-                        chunk.regionTypeExists(checkPoint, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD))) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+        // The point must be free and keep the minimum spacing to every road and main street
+        return chunk.isClear(point.x(), point.y(), MIN_DISTANCE, STREET_TYPES);
     }
     private boolean hasValidEndpoint(AreaChunk chunk, List<Point> points) {
         if(points.isEmpty()) return false;
@@ -222,7 +210,7 @@ public class RoadGenerator extends LayerGenerator
         for(CardinalDirection dir : CardinalDirection.values()) {
             Point adjacent = lastPoint.toDirection(dir);
             if(chunk.inBounds(adjacent) &&
-                    chunk.regionTypeExists(adjacent, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD))) {
+                    chunk.regionTypeExists(adjacent, STREET_TYPES)) {
                 return true;
             }
         }
@@ -297,7 +285,7 @@ public class RoadGenerator extends LayerGenerator
         for(CardinalDirection dir : CardinalDirection.values()) {
             Point adjacent = point.toDirection(dir);
             if(chunk.inBounds(adjacent) &&
-                    chunk.regionTypeExists(adjacent, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD))) {
+                    chunk.regionTypeExists(adjacent, STREET_TYPES)) {
                 return true;
             }
         }
@@ -318,7 +306,7 @@ public class RoadGenerator extends LayerGenerator
         for(CardinalDirection dir : CardinalDirection.values()) {
             Point adjacent = lastPoint.toDirection(dir);
             if(chunk.inBounds(adjacent) &&
-                    chunk.regionTypeExists(adjacent, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD))) {
+                    chunk.regionTypeExists(adjacent, STREET_TYPES)) {
                 hasConnection = true;
                 break;
             }
@@ -336,81 +324,81 @@ public class RoadGenerator extends LayerGenerator
         return null;
     }
 
-    private boolean buildStraightRoad(AreaChunk chunk, Point startingPoint, CardinalDirection direction, Random random)
+    private AreaRegion buildStraightRoad(AreaChunk chunk, Point startingPoint, CardinalDirection direction, Random random)
     {
         // Check if the road has a conflict
         if(this.checkConflict(chunk, startingPoint, direction, random.nextInt(MIN_DISTANCE, MAX_DISTANCE)))
         {
-            return false;
+            return null;
         }
 
         LineRegion traversal = chunk.traverseDirection(startingPoint, direction, true);
-        Point endPoint = null;
+        Point[] endPoint = new Point[1];
 
-        for(Point point : traversal.getPointsOrdered(startingPoint))
+        traversal.anyPointFrom(startingPoint, (x, y) ->
         {
+            Point point = new Point(x, y);
             if(this.checkConflict(chunk, point, direction, MIN_DISTANCE))
             {
-                break;
+                return true;
             }
 
-            endPoint = point;
-        }
-
-        if(endPoint == null)
-        {
+            endPoint[0] = point;
             return false;
-        }
+        });
 
-        LineRegion road = new LineRegion(startingPoint, endPoint);
-        if(road.size() < MIN_LENGTH)
+        if(endPoint[0] == null)
         {
-            return false;
+            return null;
         }
 
-        chunk.addRegion(new RoadRegion(road, direction, ResourceFinder.getRandomName(NameResources.STREET_NAMES, random)));
-        return true;
-    }
-
-    private AreaRegion getRandomRoad(AreaChunk chunk, Random random)
-    {
-        if(chunk.regionTypeExists(AreaRegionType.ROAD))
+        LineRegion road = new LineRegion(startingPoint, endPoint[0]);
+        if(road.size() < MIN_LENGTH)
         {
-            if(RandomUtilities.randomChance(30, random))
-            {
-                return chunk.getRandomRegion(AreaRegionType.ROAD, random);
-            }
+            return null;
         }
 
-        return chunk.getRandomRegion(AreaRegionType.MAIN_STREET, random);
+        AreaRegion region = new RoadRegion(road, direction, ResourceFinder.getRandomName(NameResources.STREET_NAMES, random));
+        chunk.addRegion(region);
+        return region;
     }
 
-    private CardinalDirection determineDirection(AreaRegion region, Random random)
+    private CardinalDirection getDirection(AreaRegion region)
     {
         if(region instanceof MainStreetRegion)
         {
-            return ((MainStreetRegion)region).getDirection().getLeftOrRight(random);
+            return ((MainStreetRegion)region).getDirection();
         }
 
         if(region instanceof RoadRegion)
         {
-            return ((RoadRegion)region).getDirection().getLeftOrRight(random);
+            return ((RoadRegion)region).getDirection();
         }
 
         throw new IllegalStateException("Unexpected region type");
     }
 
-    private boolean checkConflict(AreaChunk chunk, Point startingPoint, CardinalDirection direction, int distance)
+    boolean checkConflict(AreaChunk chunk, Point startingPoint, CardinalDirection direction, int distance)
     {
+        // Most candidates are clear, skip the traversals when both sides are within bounds and free
+        if(chunk.inBounds(startingPoint) &&
+                chunk.inBounds(startingPoint.toDirection(direction.getLeft(), distance)) &&
+                chunk.inBounds(startingPoint.toDirection(direction.getRight(), distance)) &&
+                chunk.isClear(startingPoint.x(), startingPoint.y(), direction.getLeft(), distance, STREET_TYPES) &&
+                chunk.isClear(startingPoint.x(), startingPoint.y(), direction.getRight(), distance, STREET_TYPES))
+        {
+            return false;
+        }
+
         if(!chunk.inBounds(startingPoint))
         {
-            this.logger.info(String.format("Conflict at %s with %s (distance: %s) due to out of bounds", startingPoint, direction, distance));
+            this.logger.fine(() -> String.format("Conflict at %s with %s (distance: %s) due to out of bounds", startingPoint, direction, distance));
             return true;
         }
 
-        if(chunk.regionTypeExists(startingPoint, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD)))
+        if(chunk.regionTypeExists(startingPoint, STREET_TYPES))
         {
-            this.logger.info(String.format("Conflict at %s with %s (distance: %s) due to existing ROAD/MAIN_STREET region", startingPoint, direction, distance));
+            this.logger.fine(() -> String.format("Conflict at %s with %s (distance: %s) due to existing ROAD/MAIN_STREET region", startingPoint, direction, distance));
             return true;
         }
 
@@ -418,46 +406,223 @@ public class RoadGenerator extends LayerGenerator
 
         if(leftTraversal.size() < distance)
         {
-            this.logger.info(String.format("Conflict at %s with %s (distance: %s) due to left traversal size", startingPoint, direction, distance));
+            this.logger.fine(() -> String.format("Conflict at %s with %s (distance: %s) due to left traversal size", startingPoint, direction, distance));
+            return true;
+        }
+
+        if(leftTraversal.anyPoint((x, y) -> !chunk.inBounds(x, y)))
+        {
+            this.logger.fine(() -> String.format("Conflict at %s with %s (distance: %s) due to left traversal being out of bounds", startingPoint, direction, distance));
+            return true;
+        }
+
+        if(leftTraversal.anyPoint((x, y) -> chunk.regionTypeExists(x, y, STREET_TYPES)))
+        {
+            this.logger.fine(() -> String.format("Conflict at %s with %s (distance: %s) due to left traversal going through ROAD/MAIN_STREET region", startingPoint, direction, distance));
+            return true;
+        }
+
+        LineRegion rightTraversal = chunk.traverseDirection(startingPoint, direction.getRight(), distance, false);
+        if(rightTraversal.size() < distance)
+        {
+            this.logger.fine(() -> String.format("Conflict at %s with %s (distance: %s) due to right traversal size", startingPoint, direction, distance));
+            return true;
+        }
+        if(rightTraversal.anyPoint((x, y) -> !chunk.inBounds(x, y)))
+        {
+            this.logger.fine(() -> String.format("Conflict at %s with %s (distance: %s) due to right traversal being out of bounds", startingPoint, direction, distance));
+            return true;
+        }
+
+        if(rightTraversal.anyPoint((x, y) -> chunk.regionTypeExists(x, y, STREET_TYPES)))
+        {
+            this.logger.fine(() -> String.format("Conflict at %s with %s (distance: %s) due to right traversal going through ROAD/MAIN_STREET region", startingPoint, direction, distance));
             return true;
         }
 
-        for(Point point : leftTraversal.getPoints())
+        return false;
+    }
+
+    /**
+     * A point one step away from a main street or road a new road may branch off from.
+     */
+    private static final class Branch
+    {
+        private final Point start;
+        private final CardinalDirection direction;
+        private final AreaRegionType type;
+        private int failures;
+        private int index;
+
+        private Branch(Point start, CardinalDirection direction, AreaRegionType type)
         {
-            if(!chunk.inBounds(point))
+            this.start = start;
+            this.direction = direction;
+            this.type = type;
+            this.failures = 0;
+            this.index = -1;
+        }
+    }
+
+    /**
+     * Tracks the branch points on both sides of every main street and road that are still viable.
+     * A branch point is viable as long as a road starting from it keeps the minimum distance to every other
+     * street. Regions are only ever added while roads are generated, so a branch point that lost its viability
+     * never regains it and is dropped for good. Branch points that remain viable but keep failing to produce a
+     * road are dropped after a few attempts.
+     */
+    private final class BranchFrontier
+    {
+        private final AreaChunk chunk;
+        private final Map<AreaRegionType, List<Branch>> branches;
+        private final Map<Point, List<Branch>> byStart;
+
+        private BranchFrontier(AreaChunk chunk)
+        {
+            this.chunk = chunk;
+            this.branches = new HashMap<>();
+            this.byStart = new HashMap<>();
+
+            for(AreaRegionType type : STREET_TYPES)
             {
-                this.logger.info(String.format("Conflict at %s with %s (distance: %s) due to left traversal being out of bounds", startingPoint, direction, distance));
-                return true;
+                this.branches.put(type, new ArrayList<>());
             }
+        }
 
-            if(chunk.regionTypeExists(point, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD)))
+        /**
+         * Adds the viable branch points on both sides of every point of the region.
+         *
+         * @param region the main street or road
+         */
+        private void addRegion(AreaRegion region)
+        {
+            CardinalDirection direction = getDirection(region);
+            for(Point point : region.getRegion().getPoints())
             {
-                this.logger.info(String.format("Conflict at %s with %s (distance: %s) due to left traversal going through ROAD/MAIN_STREET region", startingPoint, direction, distance));
-                return true;
+                for(CardinalDirection side : new CardinalDirection[]{direction.getLeft(), direction.getRight()})
+                {
+                    Branch branch = new Branch(point.toDirection(side), side, region.getType());
+                    if(this.isViable(branch))
+                    {
+                        this.add(branch);
+                    }
+                }
             }
         }
 
-        LineRegion rightTraversal = chunk.traverseDirection(startingPoint, direction.getRight(), distance, false);
-        if(rightTraversal.size() < distance)
+        /**
+         * Picks a branch point, off a road with a fixed chance if any remain and off a main street otherwise.
+         * Every branch point of the chosen kind is equally likely.
+         *
+         * @param random the random instance
+         * @return the branch point
+         */
+        private Branch sample(Random random)
         {
-            this.logger.info(String.format("Conflict at %s with %s (distance: %s) due to right traversal size", startingPoint, direction, distance));
-            return true;
+            List<Branch> roads = this.branches.get(AreaRegionType.ROAD);
+            List<Branch> streets = this.branches.get(AreaRegionType.MAIN_STREET);
+            List<Branch> source = streets;
+
+            if(!roads.isEmpty() && (streets.isEmpty() || RandomUtilities.randomChance(ROAD_BRANCH_CHANCE, random)))
+            {
+                source = roads;
+            }
+
+            return source.get(random.nextInt(source.size()));
         }
-        for(Point point : rightTraversal.getPoints())
+
+        /**
+         * Records a failed attempt to build a road from the branch point, dropping it once it failed too often.
+         *
+         * @param branch the branch point
+         */
+        private void fail(Branch branch)
         {
-            if(!chunk.inBounds(point))
+            if(++branch.failures >= MAX_BRANCH_FAILURES || !this.isViable(branch))
             {
-                this.logger.info(String.format("Conflict at %s with %s (distance: %s) due to right traversal being out of bounds", startingPoint, direction, distance));
-                return true;
+                this.remove(branch);
             }
+        }
 
-            if(chunk.regionTypeExists(point, List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD)))
+        /**
+         * Drops the branch points that lost their viability to a newly placed region. Only branch points within
+         * the minimum distance of the region can be affected.
+         *
+         * @param region the newly placed region
+         */
+        private void invalidateAround(AreaRegion region)
+        {
+            for(Point point : region.getRegion().getPoints())
             {
-                this.logger.info(String.format("Conflict at %s with %s (distance: %s) due to right traversal going through ROAD/MAIN_STREET region", startingPoint, direction, distance));
-                return true;
+                for(int dx = -MIN_DISTANCE; dx <= MIN_DISTANCE; dx++)
+                {
+                    for(int dy = -MIN_DISTANCE; dy <= MIN_DISTANCE; dy++)
+                    {
+                        List<Branch> nearby = this.byStart.get(new Point(point.x() + dx, point.y() + dy));
+                        if(nearby == null)
+                        {
+                            continue;
+                        }
+
+                        for(Branch branch : nearby.toArray(new Branch[0]))
+                        {
+                            if(!this.isViable(branch))
+                            {
+                                this.remove(branch);
+                            }
+                        }
+                    }
+                }
             }
         }
 
-        return false;
+        private boolean isEmpty()
+        {
+            return this.size() == 0;
+        }
+
+        private int size()
+        {
+            int size = 0;
+            for(List<Branch> list : this.branches.values())
+            {
+                size += list.size();
+            }
+
+            return size;
+        }
+
+        private boolean isViable(Branch branch)
+        {
+            // Every road keeps at least the minimum distance, whether it turns or runs straight
+            return !checkConflict(this.chunk, branch.start, branch.direction, MIN_DISTANCE);
+        }
+
+        private void add(Branch branch)
+        {
+            List<Branch> list = this.branches.get(branch.type);
+            branch.index = list.size();
+            list.add(branch);
+            this.byStart.computeIfAbsent(branch.start, start -> new ArrayList<>()).add(branch);
+        }
+
+        private void remove(Branch branch)
+        {
+            // Swaps the last branch point into the slot of the removed one
+            List<Branch> list = this.branches.get(branch.type);
+            Branch last = list.removeLast();
+            if(last != branch)
+            {
+                last.index = branch.index;
+                list.set(branch.index, last);
+            }
+
+            List<Branch> nearby = this.byStart.get(branch.start);
+            nearby.remove(branch);
+            if(nearby.isEmpty())
+            {
+                this.byStart.remove(branch.start);
+            }
+        }
     }
-}
\ No newline at end of file
+}
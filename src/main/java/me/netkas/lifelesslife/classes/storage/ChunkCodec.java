@@ -0,0 +1,473 @@
+package me.netkas.lifelesslife.classes.storage;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.classes.ResourceFinder;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.enums.resources.NameResources;
+import me.netkas.lifelesslife.interfaces.RegionInterface;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
+import me.netkas.lifelesslife.objects.area_region.RoadRegion;
+import me.netkas.lifelesslife.objects.point_region.BoundingBoxRegion;
+import me.netkas.lifelesslife.objects.point_region.LineRegion;
+import me.netkas.lifelesslife.objects.point_region.PointRegion;
+import me.netkas.lifelesslife.records.Point;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public final class ChunkCodec
+{
+    /**
+     * The magic number every encoded chunk starts with, "LLCK" in ASCII.
+     */
+    public static final int MAGIC = 0x4C4C434B;
+    public static final int VERSION = 2;
+
+    /**
+     * The oldest version that can still be decoded, it does not record the generated layers.
+     */
+    public static final int MIN_VERSION = 1;
+
+    private static final int GEOMETRY_LINE = 0;
+    private static final int GEOMETRY_PATH = 1;
+    private static final int GEOMETRY_BOX = 2;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Encodes the chunk into a new buffer, growing it until the chunk fits.
+     *
+     * @param chunk the chunk to encode
+     * @return the buffer holding the encoded chunk, flipped for reading
+     * @throws IllegalArgumentException if the chunk holds a region that cannot be encoded
+     */
+    public static ByteBuffer encode(AreaChunk chunk)
+    {
+        int capacity = INITIAL_CAPACITY;
+        while (true)
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(capacity);
+            try
+            {
+                encode(chunk, buffer);
+                return buffer.flip();
+            }
+            catch (BufferOverflowException e)
+            {
+                capacity *= 2;
+            }
+        }
+    }
+
+    /**
+     * Encodes the chunk into the buffer, starting at its current position.
+     * The format is the magic number and version, the dimensions of the chunk, the names of its generated layers
+     * and then every region with its
+     * type, direction, name and geometry. Names found in the name resources are written as their index, lines and
+     * boxes as their corners and any other region as a path of point deltas, all integers as variable-length
+     * quantities.
+     *
+     * @param chunk the chunk to encode
+     * @param buffer the buffer to write to
+     * @throws BufferOverflowException if the buffer is too small
+     * @throws IllegalArgumentException if the chunk holds a region that cannot be encoded
+     */
+    public static void encode(AreaChunk chunk, ByteBuffer buffer)
+    {
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+        putVarInt(buffer, chunk.getHeight());
+        putVarInt(buffer, chunk.getWidth());
+
+        putVarInt(buffer, chunk.getGeneratedLayers().size());
+        for (String layer : chunk.getGeneratedLayers())
+        {
+            putString(buffer, layer);
+        }
+
+        int count = 0;
+        for (AreaRegionType type : AreaRegionType.values())
+        {
+            count += chunk.getRegions(type).size();
+        }
+
+        putVarInt(buffer, count);
+        for (AreaRegionType type : AreaRegionType.values())
+        {
+            for (AreaRegion region : chunk.getRegions(type))
+            {
+                encodeRegion(region, buffer);
+            }
+        }
+    }
+
+    /**
+     * Decodes a chunk from the buffer, starting at its current position.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded chunk
+     * @throws IllegalArgumentException if the buffer does not hold a chunk of a supported version
+     */
+    public static AreaChunk decode(ByteBuffer buffer)
+    {
+        if (buffer.getInt() != MAGIC)
+        {
+            throw new IllegalArgumentException("The buffer does not hold an encoded chunk.");
+        }
+
+        final int version = buffer.get();
+        if (version < MIN_VERSION || version > VERSION)
+        {
+            throw new IllegalArgumentException("Unsupported chunk version: " + version);
+        }
+
+        final int height = getVarInt(buffer);
+        final int width = getVarInt(buffer);
+        AreaChunk chunk = new AreaChunk(height, width);
+
+        if (version >= 2)
+        {
+            final int layers = getVarInt(buffer);
+            for (int i = 0; i < layers; i++)
+            {
+                chunk.markGenerated(getString(buffer));
+            }
+        }
+
+        final int count = getVarInt(buffer);
+        for (int i = 0; i < count; i++)
+        {
+            chunk.addRegion(decodeRegion(buffer));
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Encodes the chunk and deflates the result, trading a little time for a form that is a fraction of the size
+     * of the materialized chunk. Chunks are compressed while the game is running, so the fastest level is used.
+     *
+     * @param chunk the chunk to compress
+     * @return the compressed chunk
+     * @throws IllegalArgumentException if the chunk holds a region that cannot be encoded
+     */
+    public static byte[] compress(AreaChunk chunk)
+    {
+        final ByteBuffer encoded = encode(chunk);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try
+        {
+            deflater.setInput(encoded);
+            deflater.finish();
+
+            byte[] output = new byte[Math.max(64, encoded.remaining() / 2)];
+            int length = 0;
+            while (!deflater.finished())
+            {
+                if (length == output.length)
+                {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+
+                length += deflater.deflate(output, length, output.length - length);
+            }
+
+            return Arrays.copyOf(output, length);
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflates and decodes a chunk compressed by compress.
+     *
+     * @param data the compressed chunk
+     * @return the decoded chunk
+     * @throws IllegalArgumentException if the data does not hold a compressed chunk
+     */
+    public static AreaChunk decompress(byte[] data)
+    {
+        final Inflater inflater = new Inflater();
+
+        try
+        {
+            inflater.setInput(data);
+
+            byte[] output = new byte[Math.max(INITIAL_CAPACITY, data.length * 4)];
+            int length = 0;
+            while (!inflater.finished())
+            {
+                if (length == output.length)
+                {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+
+                final int inflated = inflater.inflate(output, length, output.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    throw new IllegalArgumentException("The data does not hold a compressed chunk.");
+                }
+
+                length += inflated;
+            }
+
+            return decode(ByteBuffer.wrap(output, 0, length));
+        }
+        catch (DataFormatException e)
+        {
+            throw new IllegalArgumentException("The data does not hold a compressed chunk.", e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Encodes a single region with its type, direction, name and geometry.
+     *
+     * @param region the region to encode
+     * @param buffer the buffer to write to
+     * @throws BufferOverflowException if the buffer is too small
+     * @throws IllegalArgumentException if the region cannot be encoded
+     */
+    static void encodeRegion(AreaRegion region, ByteBuffer buffer)
+    {
+        final CardinalDirection direction;
+        final String baseName;
+
+        if (region instanceof MainStreetRegion street)
+        {
+            direction = street.getDirection();
+            baseName = street.getBaseName();
+        }
+        else if (region instanceof RoadRegion road)
+        {
+            direction = road.getDirection();
+            baseName = road.getBaseName();
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unsupported region: " + region.getClass().getName());
+        }
+
+        buffer.put((byte) region.getType().ordinal());
+        buffer.put((byte) direction.ordinal());
+        putName(buffer, getNameResource(region.getType()), baseName);
+        encodeGeometry(region.getRegion(), buffer);
+    }
+
+    /**
+     * Decodes a single region written by encodeRegion.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded region
+     */
+    static AreaRegion decodeRegion(ByteBuffer buffer)
+    {
+        final AreaRegionType type = AreaRegionType.values()[buffer.get()];
+        final CardinalDirection direction = CardinalDirection.values()[buffer.get()];
+        final String baseName = getName(buffer, getNameResource(type));
+        final RegionInterface geometry = decodeGeometry(buffer);
+
+        return switch (type)
+        {
+            case MAIN_STREET ->
+            {
+                if (!(geometry instanceof LineRegion line))
+                {
+                    throw new IllegalArgumentException("Main streets must be lines.");
+                }
+
+                yield new MainStreetRegion(line.start(), line.end(), direction, baseName);
+            }
+            case ROAD -> new RoadRegion(geometry, direction, baseName);
+        };
+    }
+
+    private static void encodeGeometry(RegionInterface region, ByteBuffer buffer)
+    {
+        if (region instanceof LineRegion line)
+        {
+            buffer.put((byte) GEOMETRY_LINE);
+            putPoint(buffer, line.start());
+            putPoint(buffer, line.end());
+            return;
+        }
+
+        if (region instanceof BoundingBoxRegion box)
+        {
+            buffer.put((byte) GEOMETRY_BOX);
+            putPoint(buffer, box.topLeft());
+            putPoint(buffer, box.bottomRight());
+            return;
+        }
+
+        if (!(region instanceof PointRegion))
+        {
+            throw new IllegalArgumentException("Unsupported geometry: " + region.getClass().getName());
+        }
+
+        // Paths are stored as the difference to the previous point, which is a single byte per coordinate for roads
+        buffer.put((byte) GEOMETRY_PATH);
+        putVarInt(buffer, region.size());
+
+        final int[] previous = {0, 0};
+        region.forEachPoint((x, y) ->
+        {
+            putVarInt(buffer, zigZag(x - previous[0]));
+            putVarInt(buffer, zigZag(y - previous[1]));
+            previous[0] = x;
+            previous[1] = y;
+        });
+    }
+
+    private static RegionInterface decodeGeometry(ByteBuffer buffer)
+    {
+        final int kind = buffer.get();
+        switch (kind)
+        {
+            case GEOMETRY_LINE:
+                return new LineRegion(getPoint(buffer), getPoint(buffer));
+            case GEOMETRY_BOX:
+                return new BoundingBoxRegion(getPoint(buffer), getPoint(buffer));
+            case GEOMETRY_PATH:
+                final int size = getVarInt(buffer);
+                List<Point> points = new ArrayList<>(size);
+                int x = 0;
+                int y = 0;
+
+                for (int i = 0; i < size; i++)
+                {
+                    x += unZigZag(getVarInt(buffer));
+                    y += unZigZag(getVarInt(buffer));
+                    points.add(new Point(x, y));
+                }
+
+                // The path was validated when the region was created
+                return new PointRegion(points, false);
+            default:
+                throw new IllegalArgumentException("Unsupported geometry kind: " + kind);
+        }
+    }
+
+    private static NameResources getNameResource(AreaRegionType type)
+    {
+        return switch (type)
+        {
+            case MAIN_STREET -> NameResources.MAIN_STREETS;
+            case ROAD -> NameResources.STREET_NAMES;
+        };
+    }
+
+    /**
+     * Writes a name as its index in the name resource plus one, or 0 followed by the name itself if the
+     * resource does not contain it.
+     */
+    private static void putName(ByteBuffer buffer, NameResources resource, String name)
+    {
+        final int index = ResourceFinder.getNameIndex(resource, name);
+        if (index >= 0)
+        {
+            putVarInt(buffer, index + 1);
+            return;
+        }
+
+        putVarInt(buffer, 0);
+        putString(buffer, name);
+    }
+
+    private static String getName(ByteBuffer buffer, NameResources resource)
+    {
+        final int index = getVarInt(buffer);
+        if (index > 0)
+        {
+            return ResourceFinder.getNames(resource).get(index - 1);
+        }
+
+        return getString(buffer);
+    }
+
+    /**
+     * Writes a string as its length in bytes followed by its UTF-8 encoding.
+     */
+    private static void putString(ByteBuffer buffer, String value)
+    {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer)
+    {
+        final byte[] bytes = new byte[getVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putPoint(ByteBuffer buffer, Point point)
+    {
+        putVarInt(buffer, zigZag(point.x()));
+        putVarInt(buffer, zigZag(point.y()));
+    }
+
+    private static Point getPoint(ByteBuffer buffer)
+    {
+        return new Point(unZigZag(getVarInt(buffer)), unZigZag(getVarInt(buffer)));
+    }
+
+    /**
+     * Writes an unsigned integer seven bits at a time, the high bit of every byte marking that more bytes follow.
+     */
+    static void putVarInt(ByteBuffer buffer, int value)
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    static int getVarInt(ByteBuffer buffer)
+    {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7)
+        {
+            final byte current = buffer.get();
+            value |= (current & 0x7F) << shift;
+
+            if ((current & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed variable-length integer.");
+    }
+
+    /**
+     * Maps signed integers to unsigned ones so that values close to zero stay small: 0, -1, 1, -2 become 0, 1, 2, 3.
+     */
+    static int zigZag(int value)
+    {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unZigZag(int value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,275 @@
+package me.netkas.lifelesslife.classes.storage;
+
+import me.netkas.lifelesslife.interfaces.ChunkStore;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+public class ChunkIOService implements ChunkStore, Flushable
+{
+    private static final Logger logger = Logger.getLogger(ChunkIOService.class.getName());
+
+    private final ChunkStore store;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Map<ChunkCoordinate, AreaChunk> pending;
+    private final Map<ChunkCoordinate, AreaChunk> inFlight;
+    private final Map<ChunkCoordinate, CompletableFuture<Void>> writers;
+    private final AtomicReference<IOException> failure;
+
+    /**
+     * Constructs a service running the blocking operations of the store on virtual threads.
+     * Saves queue a copy of the chunk and return immediately, so the caller may keep changing the chunk while it
+     * is written. A chunk saved again before its previous save was written is only written once, with its latest
+     * state.
+     *
+     * @param store the store performing the actual reads and writes
+     * @param maxInFlight the maximum number of reads and writes running against the store at the same time
+     * @throws IllegalArgumentException if maxInFlight is not positive
+     */
+    public ChunkIOService(ChunkStore store, int maxInFlight)
+    {
+        if (maxInFlight <= 0)
+        {
+            throw new IllegalArgumentException("The number of in-flight requests must be positive.");
+        }
+
+        this.store = store;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.permits = new Semaphore(maxInFlight);
+        this.pending = new ConcurrentHashMap<>();
+        this.inFlight = new ConcurrentHashMap<>();
+        this.writers = new ConcurrentHashMap<>();
+        this.failure = new AtomicReference<>();
+    }
+
+    /**
+     * Loads the chunk at the given coordinate in the background. A chunk waiting to be written or being written
+     * is copied directly, so a load always sees the latest save and never shares the instance being written.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return a future completed with the chunk, or with null if the store does not hold it
+     */
+    public CompletableFuture<AreaChunk> loadAsync(ChunkCoordinate coordinate)
+    {
+        AreaChunk queued = this.pending.get(coordinate);
+        if (queued == null)
+        {
+            queued = this.inFlight.get(coordinate);
+        }
+
+        if (queued != null)
+        {
+            return CompletableFuture.completedFuture(new AreaChunk(queued, null));
+        }
+
+        return CompletableFuture.supplyAsync(() ->
+        {
+            this.permits.acquireUninterruptibly();
+            try
+            {
+                return this.store.load(coordinate);
+            }
+            catch (IOException e)
+            {
+                throw new CompletionException(new UncheckedIOException("Failed to load chunk " + coordinate, e));
+            }
+            finally
+            {
+                this.permits.release();
+            }
+        }, this.executor);
+    }
+
+    /**
+     * Returns the number of chunks waiting to be written.
+     *
+     * @return the number of queued chunks
+     */
+    public int getPendingCount()
+    {
+        return this.pending.size();
+    }
+
+    @Override
+    public boolean contains(ChunkCoordinate coordinate) throws IOException
+    {
+        return this.pending.containsKey(coordinate) || this.inFlight.containsKey(coordinate) || this.store.contains(coordinate);
+    }
+
+    /**
+     * Loads the chunk at the given coordinate, blocking until it has been read.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return the chunk, or null if the store does not hold it
+     * @throws IOException if the store fails to read the chunk
+     */
+    @Override
+    public AreaChunk load(ChunkCoordinate coordinate) throws IOException
+    {
+        try
+        {
+            return this.loadAsync(coordinate).join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof UncheckedIOException cause)
+            {
+                throw cause.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Queues a copy of the chunk to be written in the background and returns immediately. The copy is taken on
+     * the calling thread, later changes to the chunk are not written.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the chunk to write
+     */
+    @Override
+    public void save(ChunkCoordinate coordinate, AreaChunk chunk)
+    {
+        this.pending.put(coordinate, new AreaChunk(chunk, null));
+        this.schedule(coordinate);
+    }
+
+    /**
+     * Blocks until every queued chunk has been written, retrying chunks whose earlier write failed.
+     *
+     * @throws IOException if a chunk could still not be written
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        this.failure.set(null);
+        for (ChunkCoordinate coordinate : this.pending.keySet())
+        {
+            this.schedule(coordinate);
+        }
+
+        while (!this.writers.isEmpty())
+        {
+            CompletableFuture.allOf(this.writers.values().toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        final IOException error = this.failure.get();
+        if (error != null && !this.pending.isEmpty())
+        {
+            throw error;
+        }
+    }
+
+    /**
+     * Writes every queued chunk, stops the virtual threads and closes the underlying store.
+     *
+     * @throws IOException if a chunk could not be written or the store fails to close
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            this.flush();
+        }
+        finally
+        {
+            this.executor.close();
+            this.store.close();
+        }
+    }
+
+    /**
+     * Starts a writer for the coordinate unless one is already running, there is at most one writer per chunk
+     * so that its saves are never reordered.
+     *
+     * @param coordinate the coordinate of the chunk
+     */
+    private void schedule(ChunkCoordinate coordinate)
+    {
+        this.writers.computeIfAbsent(coordinate, key -> CompletableFuture.runAsync(() -> this.write(key), this.executor));
+    }
+
+    /**
+     * Queues a chunk whose write failed again, unless a newer state was queued in the meantime, and records the
+     * failure for the next flush.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the chunk that failed to be written
+     * @param error the failure
+     */
+    private void requeue(ChunkCoordinate coordinate, AreaChunk chunk, IOException error)
+    {
+        this.pending.putIfAbsent(coordinate, chunk);
+        this.failure.set(error);
+        logger.warning(String.format("Failed to save chunk %s: %s", coordinate, error.getMessage()));
+    }
+
+    /**
+     * Writes the latest queued state of the chunk until no newer state was queued in the meantime.
+     * The chunk moves to the in-flight map before it leaves the queue and stays there until the store wrote it,
+     * so a load in between never falls through to the older state of the store.
+     * A failed write, including a store failing with an unchecked exception, keeps the chunk queued so that the
+     * next flush retries it.
+     *
+     * @param coordinate the coordinate of the chunk
+     */
+    private void write(ChunkCoordinate coordinate)
+    {
+        try
+        {
+            AreaChunk chunk;
+            while ((chunk = this.pending.get(coordinate)) != null)
+            {
+                // A newer state queued in between stays queued and is written by the next iteration
+                this.inFlight.put(coordinate, chunk);
+                this.pending.remove(coordinate, chunk);
+
+                this.permits.acquireUninterruptibly();
+                try
+                {
+                    this.store.save(coordinate, chunk);
+                }
+                catch (IOException e)
+                {
+                    this.requeue(coordinate, chunk, e);
+                    return;
+                }
+                catch (RuntimeException e)
+                {
+                    this.requeue(coordinate, chunk, new IOException("Failed to save chunk " + coordinate, e));
+                    return;
+                }
+                finally
+                {
+                    this.permits.release();
+                    this.inFlight.remove(coordinate, chunk);
+                }
+            }
+        }
+        finally
+        {
+            this.writers.remove(coordinate);
+        }
+
+        // A save queued after the last removal but before this writer unregistered has no writer of its own yet
+        if (this.pending.containsKey(coordinate))
+        {
+            this.schedule(coordinate);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package me.netkas.lifelesslife.classes.storage;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.interfaces.ChunkListener;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+public class ChunkJournal implements Closeable
+{
+    private static final Logger logger = Logger.getLogger(ChunkJournal.class.getName());
+
+    private static final int HEADER_SIZE = 8;
+    private static final int OP_ADD = 1;
+    private static final int OP_REMOVE = 2;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final FileChannel channel;
+    private final long checkpointSize;
+    private final Map<ChunkCoordinate, Attachment> attached;
+    private long size;
+    private boolean replaying;
+
+    /**
+     * Opens the journal at the given path, creating it if it does not exist. Records already in the journal are
+     * kept until they are replayed and truncated.
+     *
+     * @param path the path of the journal file
+     * @param checkpointSize the size in bytes after which a checkpoint is due
+     * @throws IOException if the journal cannot be opened
+     * @throws IllegalArgumentException if checkpointSize is not positive
+     */
+    public ChunkJournal(Path path, long checkpointSize) throws IOException
+    {
+        if (checkpointSize <= 0)
+        {
+            throw new IllegalArgumentException("The checkpoint size must be positive.");
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.checkpointSize = checkpointSize;
+        this.attached = new HashMap<>();
+        this.size = this.channel.size();
+        this.replaying = false;
+    }
+
+    /**
+     * Starts recording every region added to or removed from the chunk.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the chunk to record
+     */
+    public synchronized void attach(ChunkCoordinate coordinate, AreaChunk chunk)
+    {
+        this.detach(coordinate);
+
+        Attachment attachment = new Attachment(coordinate, chunk);
+        chunk.addListener(attachment);
+        this.attached.put(coordinate, attachment);
+    }
+
+    /**
+     * Stops recording the chunk at the given coordinate. Records already written are kept.
+     *
+     * @param coordinate the coordinate of the chunk
+     */
+    public synchronized void detach(ChunkCoordinate coordinate)
+    {
+        Attachment attachment = this.attached.remove(coordinate);
+        AreaChunk chunk = attachment != null ? attachment.chunk.get() : null;
+        if (chunk != null)
+        {
+            chunk.removeListener(attachment);
+        }
+    }
+
+    /**
+     * Returns the size of the records written since the last truncation.
+     *
+     * @return the size of the journal in bytes
+     */
+    public synchronized long getSize()
+    {
+        return this.size;
+    }
+
+    /**
+     * Determines if the journal has grown past the checkpoint size, so that replaying it would take longer
+     * than writing the chunks it covers.
+     *
+     * @return true if a checkpoint is due, false otherwise
+     */
+    public synchronized boolean isCheckpointDue()
+    {
+        return this.size >= this.checkpointSize;
+    }
+
+    /**
+     * Forces every record written so far to the storage device.
+     * Records are handed to the operating system as soon as they are written, which survives a crash of the
+     * process but not of the machine.
+     *
+     * @throws IOException if the journal cannot be forced
+     */
+    public synchronized void sync() throws IOException
+    {
+        this.channel.force(false);
+    }
+
+    /**
+     * Discards every record, to be called once the chunks they cover were written to the store.
+     *
+     * @throws IOException if the journal cannot be truncated
+     */
+    public synchronized void truncate() throws IOException
+    {
+        this.channel.truncate(0);
+        this.channel.force(true);
+        this.size = 0;
+    }
+
+    /**
+     * Applies every record to the chunk returned for its coordinate, which is the latest checkpoint of the chunk
+     * or the chunk generated again from the seed. Applying a record is idempotent, a region that was added is
+     * only added if the chunk does not hold it yet and a region that was removed is only removed if it does, so
+     * records covered by a chunk written after they were recorded do not change it.
+     * Replay stops at the first record that was only partially written or fails its checksum, and the journal is
+     * truncated behind the last valid record.
+     *
+     * @param chunks the function returning the chunk at a coordinate
+     * @return the number of records that were replayed
+     * @throws IOException if the journal cannot be read
+     */
+    public synchronized int replay(Function<ChunkCoordinate, AreaChunk> chunks) throws IOException
+    {
+        // The journal never grows past a few checkpoint sizes, so it is read as a whole
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(this.channel.size()));
+        while (buffer.hasRemaining())
+        {
+            if (this.channel.read(buffer, buffer.position()) < 0)
+            {
+                break;
+            }
+        }
+
+        buffer.flip();
+        CRC32 crc = new CRC32();
+        int replayed = 0;
+        int valid = 0;
+
+        this.replaying = true;
+        try
+        {
+            while (buffer.remaining() >= HEADER_SIZE)
+            {
+                final int length = buffer.getInt();
+                final int checksum = buffer.getInt();
+
+                if (length <= 0 || length > buffer.remaining())
+                {
+                    break;
+                }
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+
+                if ((int) crc.getValue() != checksum)
+                {
+                    break;
+                }
+
+                try
+                {
+                    this.apply(payload, chunks);
+                }
+                catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e)
+                {
+                    break;
+                }
+
+                buffer.position(buffer.position() + length);
+                valid = buffer.position();
+                replayed++;
+            }
+        }
+        finally
+        {
+            this.replaying = false;
+        }
+
+        if (valid < this.channel.size())
+        {
+            logger.warning(String.format("Discarding %s bytes of the journal after the last valid record", this.channel.size() - valid));
+            this.channel.truncate(valid);
+        }
+
+        this.size = valid;
+        return replayed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        for (ChunkCoordinate coordinate : this.attached.keySet().toArray(new ChunkCoordinate[0]))
+        {
+            this.detach(coordinate);
+        }
+
+        this.channel.close();
+    }
+
+    /**
+     * Appends a record holding the operation, the coordinate of the chunk and the encoded region.
+     * A record is its payload length and CRC32 followed by the payload.
+     *
+     * @param operation the operation of the record
+     * @param coordinate the coordinate of the chunk
+     * @param region the added or removed region
+     * @throws UncheckedIOException if the record cannot be written
+     */
+    private synchronized void append(int operation, ChunkCoordinate coordinate, AreaRegion region)
+    {
+        if (this.replaying)
+        {
+            return;
+        }
+
+        int capacity = INITIAL_CAPACITY;
+        while (true)
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(capacity);
+            try
+            {
+                buffer.position(HEADER_SIZE);
+                buffer.put((byte) operation);
+                ChunkCodec.putVarInt(buffer, ChunkCodec.zigZag(coordinate.x()));
+                ChunkCodec.putVarInt(buffer, ChunkCodec.zigZag(coordinate.y()));
+                ChunkCodec.encodeRegion(region, buffer);
+                buffer.flip();
+            }
+            catch (BufferOverflowException e)
+            {
+                capacity *= 2;
+                continue;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_SIZE, buffer.limit() - HEADER_SIZE));
+            buffer.putInt(0, buffer.limit() - HEADER_SIZE);
+            buffer.putInt(4, (int) crc.getValue());
+
+            try
+            {
+                while (buffer.hasRemaining())
+                {
+                    this.size += this.channel.write(buffer, this.size);
+                }
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("Failed to append to the journal", e);
+            }
+
+            return;
+        }
+    }
+
+    /**
+     * Applies a single record payload to its chunk.
+     *
+     * @param payload the payload of the record
+     * @param chunks the function returning the chunk at a coordinate
+     */
+    private void apply(ByteBuffer payload, Function<ChunkCoordinate, AreaChunk> chunks)
+    {
+        final int operation = payload.get();
+        if (operation != OP_ADD && operation != OP_REMOVE)
+        {
+            throw new IllegalArgumentException("Unknown journal operation: " + operation);
+        }
+
+        final int x = ChunkCodec.unZigZag(ChunkCodec.getVarInt(payload));
+        final int y = ChunkCodec.unZigZag(ChunkCodec.getVarInt(payload));
+        final byte[] encoded = new byte[payload.remaining()];
+        payload.duplicate().get(encoded);
+
+        AreaRegion region = ChunkCodec.decodeRegion(payload);
+        AreaChunk chunk = chunks.apply(new ChunkCoordinate(x, y));
+        AreaRegion existing = find(chunk, region, encoded);
+
+        if (operation == OP_ADD && existing == null)
+        {
+            chunk.addRegion(region);
+        }
+        else if (operation == OP_REMOVE && existing != null)
+        {
+            chunk.removeRegion(existing);
+        }
+    }
+
+    /**
+     * Finds the region of the chunk with the same encoding as a journaled region.
+     *
+     * @param chunk the chunk to search
+     * @param region the journaled region
+     * @param encoded the encoding of the journaled region
+     * @return the region of the chunk, or null if the chunk does not hold it
+     */
+    private static AreaRegion find(AreaChunk chunk, AreaRegion region, byte[] encoded)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(encoded.length);
+        for (AreaRegion candidate : chunk.getRegions(region.getType()))
+        {
+            buffer.clear();
+            try
+            {
+                ChunkCodec.encodeRegion(candidate, buffer);
+            }
+            catch (BufferOverflowException e)
+            {
+                continue;
+            }
+
+            if (buffer.position() == encoded.length && Arrays.equals(buffer.array(), encoded))
+            {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Records the mutations of a single chunk. The chunk is only referenced weakly, so being attached does not
+     * keep a chunk reachable that nobody else holds.
+     */
+    private class Attachment implements ChunkListener
+    {
+        private final ChunkCoordinate coordinate;
+        private final WeakReference<AreaChunk> chunk;
+
+        private Attachment(ChunkCoordinate coordinate, AreaChunk chunk)
+        {
+            this.coordinate = coordinate;
+            this.chunk = new WeakReference<>(chunk);
+        }
+
+        @Override
+        public void regionAdded(AreaChunk chunk, AreaRegion region)
+        {
+            append(OP_ADD, this.coordinate, region);
+        }
+
+        @Override
+        public void regionRemoved(AreaChunk chunk, AreaRegion region)
+        {
+            append(OP_REMOVE, this.coordinate, region);
+        }
+    }
+}
@@ -0,0 +1,523 @@
+package me.netkas.lifelesslife.classes.storage;
+
+import me.netkas.lifelesslife.interfaces.ChunkStore;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class RegionFileStore implements ChunkStore
+{
+    /**
+     * The number of chunks along each side of a region file.
+     */
+    public static final int REGION_SIZE = 32;
+    public static final int SECTOR_SIZE = 4096;
+
+    private static final int ENTRY_SIZE = Integer.BYTES * 2;
+    private static final int HEADER_SECTORS = (REGION_SIZE * REGION_SIZE * ENTRY_SIZE + SECTOR_SIZE - 1) / SECTOR_SIZE;
+
+    private final Path directory;
+    private final Map<Long, RegionFile> files;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a store keeping chunks in region files within the given directory, each file holding up to
+     * REGION_SIZE by REGION_SIZE chunks. Every file starts with a header holding the sector offset and byte length
+     * of every chunk, followed by the chunks themselves aligned to SECTOR_SIZE.
+     *
+     * @param directory the directory holding the region files, created if it does not exist
+     * @throws IOException if the directory cannot be created
+     */
+    public RegionFileStore(Path directory) throws IOException
+    {
+        this.directory = Files.createDirectories(directory);
+        this.files = new ConcurrentHashMap<>();
+        this.closed = false;
+    }
+
+    public Path getDirectory()
+    {
+        return this.directory;
+    }
+
+    /**
+     * Returns the path of the region file holding the chunk at the given coordinate.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return the path of the region file
+     */
+    public Path getRegionPath(ChunkCoordinate coordinate)
+    {
+        final int regionX = Math.floorDiv(coordinate.x(), REGION_SIZE);
+        final int regionY = Math.floorDiv(coordinate.y(), REGION_SIZE);
+        return this.directory.resolve(String.format("r.%d.%d.llr", regionX, regionY));
+    }
+
+    @Override
+    public boolean contains(ChunkCoordinate coordinate) throws IOException
+    {
+        RegionFile file = this.getFile(coordinate, false);
+        return file != null && file.contains(index(coordinate));
+    }
+
+    /**
+     * Loads the chunk stored at the given coordinate. The bytes of the chunk are mapped from the region file and
+     * decoded in place, without copying them onto the heap first.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return the stored chunk, or null if no chunk is stored at the coordinate
+     * @throws IOException if the region file cannot be read
+     */
+    @Override
+    public AreaChunk load(ChunkCoordinate coordinate) throws IOException
+    {
+        RegionFile file = this.getFile(coordinate, false);
+        if (file == null)
+        {
+            return null;
+        }
+
+        return file.read(index(coordinate));
+    }
+
+    /**
+     * Stores the chunk at the given coordinate. The chunk is always written to the first run of free sectors
+     * large enough to hold it, or appended to the end of the file, and never over its stored copy. The sectors
+     * of the stored copy are only freed once the header points at the new run and has been forced to disk.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the chunk to store
+     * @throws IOException if the region file cannot be written
+     */
+    @Override
+    public void save(ChunkCoordinate coordinate, AreaChunk chunk) throws IOException
+    {
+        this.getFile(coordinate, true).write(index(coordinate), ChunkCodec.encode(chunk));
+    }
+
+    /**
+     * Removes the chunk stored at the given coordinate, freeing its sectors for reuse.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @throws IOException if the region file cannot be written
+     */
+    public void delete(ChunkCoordinate coordinate) throws IOException
+    {
+        RegionFile file = this.getFile(coordinate, false);
+        if (file != null)
+        {
+            file.delete(index(coordinate));
+        }
+    }
+
+    /**
+     * Moves the chunks of every open region file towards the start of the file so that no free sectors remain
+     * between them, and truncates the files accordingly. Like a save, every move keeps a complete copy of the
+     * chunk on disk until the header points at the moved one.
+     *
+     * @return the number of sectors reclaimed
+     * @throws IOException if a region file cannot be rewritten
+     */
+    public int compact() throws IOException
+    {
+        int reclaimed = 0;
+        for (RegionFile file : this.files.values())
+        {
+            reclaimed += file.compact();
+        }
+
+        return reclaimed;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.closed = true;
+
+        IOException failure = null;
+        for (RegionFile file : this.files.values())
+        {
+            try
+            {
+                file.close();
+            }
+            catch (IOException e)
+            {
+                failure = e;
+            }
+        }
+
+        this.files.clear();
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the open region file holding the chunk, opening it first if needed.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param create true to create the region file if it does not exist
+     * @return the region file, or null if it does not exist and create is false
+     * @throws IOException if the region file cannot be opened
+     */
+    private RegionFile getFile(ChunkCoordinate coordinate, boolean create) throws IOException
+    {
+        if (this.closed)
+        {
+            throw new IllegalStateException("The chunk store is closed.");
+        }
+
+        final Path path = this.getRegionPath(coordinate);
+        final long key = new ChunkCoordinate(Math.floorDiv(coordinate.x(), REGION_SIZE), Math.floorDiv(coordinate.y(), REGION_SIZE)).pack();
+
+        RegionFile file = this.files.get(key);
+        if (file != null || (!create && !Files.exists(path)))
+        {
+            return file;
+        }
+
+        try
+        {
+            return this.files.computeIfAbsent(key, ignored ->
+            {
+                try
+                {
+                    return new RegionFile(path);
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    private static int index(ChunkCoordinate coordinate)
+    {
+        return Math.floorMod(coordinate.y(), REGION_SIZE) * REGION_SIZE + Math.floorMod(coordinate.x(), REGION_SIZE);
+    }
+
+    private static int sectorsFor(int length)
+    {
+        return (length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+    }
+
+    /**
+     * A single region file. Reads share a read lock so that any number of chunks can be loaded concurrently,
+     * writes, deletions and compaction take the write lock.
+     */
+    private static final class RegionFile
+    {
+        private final FileChannel channel;
+        private final int[] offsets;
+        private final int[] lengths;
+        private final BitSet usedSectors;
+        private final ReadWriteLock lock;
+        private int sectorCount;
+
+        private RegionFile(Path path) throws IOException
+        {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.offsets = new int[REGION_SIZE * REGION_SIZE];
+            this.lengths = new int[REGION_SIZE * REGION_SIZE];
+            this.usedSectors = new BitSet();
+            this.lock = new ReentrantReadWriteLock();
+
+            if (this.channel.size() == 0)
+            {
+                this.channel.write(ByteBuffer.allocate(HEADER_SECTORS * SECTOR_SIZE), 0);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(REGION_SIZE * REGION_SIZE * ENTRY_SIZE);
+            this.channel.read(header, 0);
+            header.flip();
+
+            this.usedSectors.set(0, HEADER_SECTORS);
+            this.sectorCount = Math.max(HEADER_SECTORS, (int) ((this.channel.size() + SECTOR_SIZE - 1) / SECTOR_SIZE));
+
+            for (int i = 0; i < this.offsets.length; i++)
+            {
+                this.offsets[i] = header.getInt();
+                this.lengths[i] = header.getInt();
+
+                if (this.lengths[i] > 0)
+                {
+                    if (this.offsets[i] < HEADER_SECTORS || this.offsets[i] + sectorsFor(this.lengths[i]) > this.sectorCount)
+                    {
+                        throw new IOException("Corrupted region file header in " + path);
+                    }
+
+                    this.usedSectors.set(this.offsets[i], this.offsets[i] + sectorsFor(this.lengths[i]));
+                }
+            }
+        }
+
+        private boolean contains(int index)
+        {
+            this.lock.readLock().lock();
+            try
+            {
+                return this.lengths[index] > 0;
+            }
+            finally
+            {
+                this.lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Maps the bytes of the chunk and decodes them while holding the read lock, so that no writer can move
+         * another chunk into the mapped sectors or truncate the file while they are being read.
+         */
+        private AreaChunk read(int index) throws IOException
+        {
+            this.lock.readLock().lock();
+            try
+            {
+                if (this.lengths[index] == 0)
+                {
+                    return null;
+                }
+
+                return ChunkCodec.decode(this.channel.map(FileChannel.MapMode.READ_ONLY, (long) this.offsets[index] * SECTOR_SIZE, this.lengths[index]));
+            }
+            finally
+            {
+                this.lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Writes the chunk to a fresh run of sectors and only frees its previous run once the header points at the
+         * new one. The data is forced before the header entry and the entry before the old run is reused, so a
+         * crash at any point leaves the header pointing at a complete copy of the chunk.
+         */
+        private void write(int index, ByteBuffer data) throws IOException
+        {
+            final int length = data.remaining();
+            final int sectors = sectorsFor(length);
+
+            this.lock.writeLock().lock();
+            try
+            {
+                final int previousOffset = this.offsets[index];
+                final int previousLength = this.lengths[index];
+                final int offset = this.allocate(sectors);
+
+                try
+                {
+                    while (data.hasRemaining())
+                    {
+                        this.channel.write(data, (long) offset * SECTOR_SIZE + length - data.remaining());
+                    }
+
+                    this.channel.force(false);
+                }
+                catch (IOException e)
+                {
+                    this.usedSectors.clear(offset, offset + sectors);
+                    throw e;
+                }
+
+                this.setEntry(index, offset, length);
+                this.channel.force(false);
+
+                if (previousLength > 0)
+                {
+                    this.usedSectors.clear(previousOffset, previousOffset + sectorsFor(previousLength));
+                }
+            }
+            finally
+            {
+                this.lock.writeLock().unlock();
+            }
+        }
+
+        private void delete(int index) throws IOException
+        {
+            this.lock.writeLock().lock();
+            try
+            {
+                this.release(index);
+                this.setEntry(index, 0, 0);
+            }
+            finally
+            {
+                this.lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Moves every chunk down to the first sector after the previous one. A chunk is copied to its target
+         * directly if the target does not overlap its current run, otherwise it is first copied to scratch
+         * sectors past the end of the file, so that its only durable copy is never overwritten.
+         */
+        private int compact() throws IOException
+        {
+            this.lock.writeLock().lock();
+            try
+            {
+                List<Integer> order = new ArrayList<>();
+                for (int i = 0; i < this.lengths.length; i++)
+                {
+                    if (this.lengths[i] > 0)
+                    {
+                        order.add(i);
+                    }
+                }
+
+                order.sort((a, b) -> Integer.compare(this.offsets[a], this.offsets[b]));
+
+                // Chunks only ever move towards the start of the file, in ascending order, so the target of a
+                // move only covers sectors of chunks that were moved before and the header no longer points at
+                final int scratch = this.sectorCount;
+                int next = HEADER_SECTORS;
+                for (int index : order)
+                {
+                    if (this.offsets[index] != next)
+                    {
+                        if (next + sectorsFor(this.lengths[index]) > this.offsets[index])
+                        {
+                            this.move(index, scratch);
+                        }
+
+                        this.move(index, next);
+                    }
+
+                    next += sectorsFor(this.lengths[index]);
+                }
+
+                final int reclaimed = this.sectorCount - next;
+                this.usedSectors.clear();
+                this.usedSectors.set(0, next);
+                this.sectorCount = next;
+                this.channel.truncate((long) next * SECTOR_SIZE);
+                this.channel.force(false);
+
+                return reclaimed;
+            }
+            finally
+            {
+                this.lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Copies a chunk to the given sector, which must not overlap its current run, forces the copy and then
+         * points the header at it and forces the header. The previous run is only freed afterwards.
+         */
+        private void move(int index, int offset) throws IOException
+        {
+            final int previousOffset = this.offsets[index];
+            final int length = this.lengths[index];
+            final int sectors = sectorsFor(length);
+            final long source = (long) previousOffset * SECTOR_SIZE;
+            final long target = (long) offset * SECTOR_SIZE;
+
+            this.usedSectors.set(offset, offset + sectors);
+            this.sectorCount = Math.max(this.sectorCount, offset + sectors);
+
+            try
+            {
+                ByteBuffer data = ByteBuffer.allocate(length);
+                while (data.hasRemaining())
+                {
+                    if (this.channel.read(data, source + data.position()) < 0)
+                    {
+                        throw new IOException("Unexpected end of region file while moving chunk " + index);
+                    }
+                }
+
+                data.flip();
+                while (data.hasRemaining())
+                {
+                    this.channel.write(data, target + data.position());
+                }
+
+                this.channel.force(false);
+            }
+            catch (IOException e)
+            {
+                this.usedSectors.clear(offset, offset + sectors);
+                throw e;
+            }
+
+            this.setEntry(index, offset, length);
+            this.channel.force(false);
+            this.usedSectors.clear(previousOffset, previousOffset + sectors);
+        }
+
+        private void close() throws IOException
+        {
+            this.lock.writeLock().lock();
+            try
+            {
+                this.channel.close();
+            }
+            finally
+            {
+                this.lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Returns the first run of free sectors long enough for the requested number of sectors, growing the
+         * file if no such run exists.
+         */
+        private int allocate(int sectors)
+        {
+            int start = this.usedSectors.nextClearBit(HEADER_SECTORS);
+            while (start < this.sectorCount)
+            {
+                final int end = this.usedSectors.nextSetBit(start);
+                if (end < 0 || end - start >= sectors)
+                {
+                    break;
+                }
+
+                start = this.usedSectors.nextClearBit(end);
+            }
+
+            this.usedSectors.set(start, start + sectors);
+            this.sectorCount = Math.max(this.sectorCount, start + sectors);
+            return start;
+        }
+
+        private void release(int index)
+        {
+            if (this.lengths[index] > 0)
+            {
+                this.usedSectors.clear(this.offsets[index], this.offsets[index] + sectorsFor(this.lengths[index]));
+            }
+        }
+
+        private void setEntry(int index, int offset, int length) throws IOException
+        {
+            this.offsets[index] = offset;
+            this.lengths[index] = length;
+
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE).putInt(offset).putInt(length).flip();
+            this.channel.write(entry, (long) index * ENTRY_SIZE);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package me.netkas.lifelesslife.interfaces;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.objects.AreaChunk;
+
+public interface ChunkListener
+{
+    /**
+     * Called after a region was added to the chunk.
+     *
+     * @param chunk the chunk the region was added to
+     * @param region the added region
+     */
+    void regionAdded(AreaChunk chunk, AreaRegion region);
+
+    /**
+     * Called after a region was removed from the chunk.
+     *
+     * @param chunk the chunk the region was removed from
+     * @param region the removed region
+     */
+    void regionRemoved(AreaChunk chunk, AreaRegion region);
+}
@@ -0,0 +1,37 @@
+package me.netkas.lifelesslife.interfaces;
+
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface ChunkStore extends Closeable
+{
+    /**
+     * Determines if the store holds a chunk at the given coordinate.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return true if the chunk is stored, false otherwise
+     * @throws IOException if the store cannot be read
+     */
+    boolean contains(ChunkCoordinate coordinate) throws IOException;
+
+    /**
+     * Loads the chunk stored at the given coordinate.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return the stored chunk, or null if no chunk is stored at the coordinate
+     * @throws IOException if the store cannot be read
+     */
+    AreaChunk load(ChunkCoordinate coordinate) throws IOException;
+
+    /**
+     * Stores the chunk at the given coordinate, replacing any chunk stored there before.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the chunk to store
+     * @throws IOException if the store cannot be written
+     */
+    void save(ChunkCoordinate coordinate, AreaChunk chunk) throws IOException;
+}
@@ -0,0 +1,13 @@
+package me.netkas.lifelesslife.interfaces;
+
+@FunctionalInterface
+public interface PointConsumer
+{
+    /**
+     * Accepts the coordinates of a point.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     */
+    void accept(int x, int y);
+}
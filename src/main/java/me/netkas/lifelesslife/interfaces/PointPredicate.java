@@ -0,0 +1,14 @@
+package me.netkas.lifelesslife.interfaces;
+
+@FunctionalInterface
+public interface PointPredicate
+{
+    /**
+     * Evaluates the predicate on the coordinates of a point.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return true if the point matches the predicate, false otherwise
+     */
+    boolean test(int x, int y);
+}
@@ -2,6 +2,7 @@ package me.netkas.lifelesslife.interfaces;
 
 
 import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.objects.point_region.BoundingBoxRegion;
 import me.netkas.lifelesslife.records.Point;
 
 import java.util.List;
@@ -38,6 +39,13 @@ public interface RegionInterface
      */
     int getWidth();
 
+    /**
+     * Returns the smallest bounding box containing every point of the region, both corners inclusive.
+     *
+     * @return the bounding box of the region
+     */
+    BoundingBoxRegion getBounds();
+
     /**
      * Returns a list of connected points that define a region.
      *
@@ -52,6 +60,70 @@ public interface RegionInterface
      */
     List<Point> getPointsOrdered();
 
+    /**
+     * Visits every point of the region without allocating a list or Point objects.
+     *
+     * @param consumer the consumer receiving the coordinates of each point
+     */
+    void forEachPoint(PointConsumer consumer);
+
+    /**
+     * Visits the points of the region until the predicate matches one of them.
+     *
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    boolean anyPoint(PointPredicate predicate);
+
+    /**
+     * Visits the points of the region ordered by their y-coordinate and x-coordinate in case of tie,
+     * until the predicate matches one of them.
+     *
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    boolean anyPointOrdered(PointPredicate predicate);
+
+    /**
+     * Visits the points of the region in the order of anyPointOrdered, beginning at the given point, until the
+     * predicate matches one of them. Regions with a natural direction, such as lines, walk that direction instead.
+     * Nothing is visited if the given point is not part of the region.
+     * The default implementation walks past every point before the given one, regions that can locate the point
+     * directly override it.
+     *
+     * @param startFrom the point to start from, or null to start from the first point
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    default boolean anyPointFrom(Point startFrom, PointPredicate predicate)
+    {
+        if (startFrom == null)
+        {
+            return this.anyPointOrdered(predicate);
+        }
+
+        if (!this.contains(startFrom))
+        {
+            return false;
+        }
+
+        boolean[] started = {false};
+        return this.anyPointOrdered((x, y) ->
+        {
+            if (!started[0])
+            {
+                if (x != startFrom.x() || y != startFrom.y())
+                {
+                    return false;
+                }
+
+                started[0] = true;
+            }
+
+            return predicate.test(x, y);
+        });
+    }
+
     /**
      * Determines if the region contains the specified point.
      *
@@ -61,18 +133,27 @@ public interface RegionInterface
     boolean contains(Point point);
 
     /**
-     * Determines if the region contains the specified region.
+     * Determines if the region contains the point at the specified coordinates.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return true if the region contains the point, false otherwise
+     */
+    boolean contains(int x, int y);
+
+    /**
+     * Determines if the region shares at least one point with the specified region.
      *
      * @param region the RegionInterface object to check
-     * @return true if the region contains the specified region, false otherwise
+     * @return true if the regions overlap, false otherwise
      */
     boolean contains(RegionInterface region);
 
     /**
-     * Determines if the region contains the specified area region.
+     * Determines if the region shares at least one point with the specified area region.
      *
      * @param areaRegion the AreaRegion object to check
-     * @return true if the region contains the specified area region, false otherwise
+     * @return true if the regions overlap, false otherwise
      */
     boolean contains(AreaRegion areaRegion);
 
@@ -3,23 +3,96 @@ package me.netkas.lifelesslife.objects;
 import me.netkas.lifelesslife.abstracts.AreaRegion;
 import me.netkas.lifelesslife.enums.AreaRegionType;
 import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.interfaces.ChunkListener;
+import me.netkas.lifelesslife.objects.point_region.BitmaskRegion;
 import me.netkas.lifelesslife.objects.point_region.LineRegion;
 import me.netkas.lifelesslife.objects.point_region.PointRegion;
 import me.netkas.lifelesslife.records.Point;
 
+import java.lang.foreign.Arena;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class AreaChunk
 {
+    private static final int REGION_OVERHEAD = 128;
+    private static final int POINT_SIZE = 16;
+
     private final int height;
     private final int width;
     private final Map<AreaRegionType, List<AreaRegion>> regions;
+    private final OccupancyGrid occupancy;
+    private final RegionRaster raster;
+    private final RegionHandleTable handles;
+    private final int[] usage;
+    private final ClearanceField[] clearance;
+    private final List<ChunkListener> listeners;
+    private final Set<String> generatedLayers;
 
     public AreaChunk(int height, int width)
+    {
+        this(height, width, null);
+    }
+
+    /**
+     * Constructs an empty chunk whose per-cell grids are allocated from the arena, keeping them out of the heap
+     * the garbage collector has to trace. The regions themselves stay on the heap.
+     * The chunk must not be used once the arena is closed.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     * @param arena the arena to allocate the grids from, or null to allocate them on the heap
+     */
+    public AreaChunk(int height, int width, Arena arena)
     {
         this.height = height;
         this.width = width;
         this.regions = new HashMap<>();
+        this.occupancy = new OccupancyGrid(height, width, arena);
+        this.raster = new RegionRaster(height, width, arena);
+        this.handles = new RegionHandleTable();
+        this.usage = new int[AreaRegionType.values().length];
+        this.clearance = new ClearanceField[AreaRegionType.values().length];
+
+        for (int i = 0; i < this.clearance.length; i++)
+        {
+            this.clearance[i] = new ClearanceField(height, width, arena);
+        }
+
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.generatedLayers = new LinkedHashSet<>();
+    }
+
+    /**
+     * Constructs a copy of the chunk whose per-cell grids are allocated from the arena. The grids are copied in
+     * bulk instead of being rebuilt from the regions, which are shared with the source. Listeners are not copied.
+     *
+     * @param source the chunk to copy
+     * @param arena the arena to allocate the grids from, or null to allocate them on the heap
+     */
+    public AreaChunk(AreaChunk source, Arena arena)
+    {
+        this.height = source.height;
+        this.width = source.width;
+        this.regions = new HashMap<>();
+        this.occupancy = new OccupancyGrid(source.occupancy, arena);
+        this.raster = new RegionRaster(source.raster, arena);
+        this.handles = new RegionHandleTable(source.handles);
+        this.usage = source.usage.clone();
+        this.clearance = new ClearanceField[source.clearance.length];
+
+        for (Map.Entry<AreaRegionType, List<AreaRegion>> entry : source.regions.entrySet())
+        {
+            this.regions.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+
+        for (int i = 0; i < this.clearance.length; i++)
+        {
+            this.clearance[i] = new ClearanceField(source.clearance[i], arena);
+        }
+
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.generatedLayers = new LinkedHashSet<>(source.generatedLayers);
     }
 
     public int getHeight()
@@ -51,6 +124,16 @@ public class AreaChunk
     public List<AreaRegion> getRegions(Point point)
     {
         List<AreaRegion> pointRegions = new ArrayList<>();
+        if (this.inBounds(point))
+        {
+            for (int handle : this.raster.getHandles(point.x(), point.y()))
+            {
+                pointRegions.add(this.handles.get(handle));
+            }
+
+            return pointRegions;
+        }
+
         for (AreaRegion region : getRegions())
         {
             if (region.getRegion().contains(point))
@@ -67,19 +150,151 @@ public class AreaChunk
         AreaRegionType type = region.getType();
         regions.putIfAbsent(type, new ArrayList<>());
         regions.get(type).add(region);
+        this.usage[type.ordinal()] += region.getRegion().size();
+
+        final int handle = this.handles.allocate(region);
+        region.getRegion().forEachPoint((x, y) ->
+        {
+            if (this.inBounds(x, y))
+            {
+                if (this.occupancy.set(x, y, type))
+                {
+                    this.clearance[type.ordinal()].update(x, y, true);
+                }
+
+                this.raster.add(x, y, handle);
+            }
+        });
+
+        for (ChunkListener listener : this.listeners)
+        {
+            listener.regionAdded(this, region);
+        }
     }
 
     public void removeRegion(AreaRegion region)
     {
         AreaRegionType type = region.getType();
-        regions.get(type).remove(region);
+        if (!regions.containsKey(type) || !regions.get(type).remove(region))
+        {
+            return;
+        }
+
+        this.usage[type.ordinal()] -= region.getRegion().size();
+
+        final int handle = this.handles.getHandle(region);
+        region.getRegion().forEachPoint((x, y) ->
+        {
+            if (!this.inBounds(x, y))
+            {
+                return;
+            }
+
+            this.raster.remove(x, y, handle);
+
+            // Overlapping regions of the same type keep the cell occupied
+            if (!this.rasterTypeExists(x, y, type) && this.occupancy.clear(x, y, type))
+            {
+                this.clearance[type.ordinal()].update(x, y, false);
+            }
+        });
+
+        this.handles.release(region);
+
+        for (ChunkListener listener : this.listeners)
+        {
+            listener.regionRemoved(this, region);
+        }
     }
 
-    public boolean regionExists(AreaRegion region)
+    /**
+     * Determines if the layer with the given name was already generated for the chunk.
+     *
+     * @param layer the name of the layer
+     * @return true if the layer was generated, false otherwise
+     */
+    public boolean isGenerated(String layer)
+    {
+        return this.generatedLayers.contains(layer);
+    }
+
+    /**
+     * Records that the layer with the given name was generated for the chunk, so it is not generated again.
+     *
+     * @param layer the name of the layer
+     */
+    public void markGenerated(String layer)
+    {
+        this.generatedLayers.add(layer);
+    }
+
+    /**
+     * Returns the names of the layers generated for the chunk, in the order they were generated.
+     *
+     * @return the names of the generated layers
+     */
+    public Set<String> getGeneratedLayers()
+    {
+        return Collections.unmodifiableSet(this.generatedLayers);
+    }
+
+    /**
+     * Registers a listener notified after every region added to or removed from the chunk.
+     * Listeners may be registered and unregistered from any thread, including from within a notification.
+     *
+     * @param listener the listener to register
+     */
+    public void addListener(ChunkListener listener)
+    {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener registered with addListener.
+     *
+     * @param listener the listener to unregister
+     */
+    public void removeListener(ChunkListener listener)
+    {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Returns the region identified by the chunk-scoped handle.
+     *
+     * @param handle the handle of the region
+     * @return the region, or null if no region in this chunk holds the handle
+     */
+    public AreaRegion getRegion(int handle)
+    {
+        return this.handles.get(handle);
+    }
+
+    /**
+     * Returns the compact handle identifying the region within this chunk. Handles are reused once their
+     * region is removed, so they must not be kept across removals.
+     *
+     * @param region the region
+     * @return the positive handle of the region, or 0 if the region is not part of this chunk
+     */
+    public int getHandle(AreaRegion region)
     {
-        for (AreaRegion r : regions.getOrDefault(region.getType(), new ArrayList<>()))
+        return this.handles.getHandle(region);
+    }
+
+    /**
+     * Determines if any region of the given type remains in the raster cell.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param type the region type to check
+     * @return true if a region of the given type covers the cell, false otherwise
+     */
+    private boolean rasterTypeExists(int x, int y, AreaRegionType type)
+    {
+        for (int handle : this.raster.getHandles(x, y))
         {
-            if (r.getRegion().contains(region))
+            if (this.handles.get(handle).getType() == type)
             {
                 return true;
             }
@@ -88,8 +303,31 @@ public class AreaChunk
         return false;
     }
 
+    /**
+     * Determines if the region overlaps any existing region of the same type.
+     * Points inside the chunk are checked against the occupancy grid, only points outside of it are
+     * compared against the regions themselves.
+     *
+     * @param region the region to check
+     * @return true if the region overlaps a region of the same type, false otherwise
+     */
+    public boolean regionExists(AreaRegion region)
+    {
+        final AreaRegionType type = region.getType();
+        final int bit = OccupancyGrid.bit(type);
+
+        return region.getRegion().anyPoint((x, y) -> this.inBounds(x, y) ?
+                this.occupancy.test(x, y, bit) :
+                this.scanRegionTypeExists(new Point(x, y), type));
+    }
+
     public boolean regionExists(Point point)
     {
+        if (this.inBounds(point))
+        {
+            return this.raster.isOccupied(point.x(), point.y());
+        }
+
         for (AreaRegion region : getRegions())
         {
             if (region.getRegion().contains(point))
@@ -107,6 +345,61 @@ public class AreaChunk
     }
 
     public boolean regionTypeExists(Point point, AreaRegionType type)
+    {
+        if (this.inBounds(point))
+        {
+            return this.occupancy.test(point.x(), point.y(), OccupancyGrid.bit(type));
+        }
+
+        return this.scanRegionTypeExists(point, type);
+    }
+
+    /**
+     * Determines if a region of any of the given types covers the point at the given coordinates,
+     * without allocating a Point for in-bounds lookups.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @param types the region types to check
+     * @return true if a region of any of the types covers the point, false otherwise
+     */
+    public boolean regionTypeExists(int x, int y, List<AreaRegionType> types)
+    {
+        if (this.inBounds(x, y))
+        {
+            return this.occupancy.test(x, y, OccupancyGrid.mask(types));
+        }
+
+        return this.regionTypeExists(new Point(x, y), types);
+    }
+
+    public boolean regionTypeExists(Point point, List<AreaRegionType> types)
+    {
+        if (this.inBounds(point))
+        {
+            return this.occupancy.test(point.x(), point.y(), OccupancyGrid.mask(types));
+        }
+
+        for (AreaRegionType type : types)
+        {
+            if (regionTypeExists(point, type))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Scans the regions of the given type for the point, this is only used for points outside the
+     * occupancy grid.
+     *
+     * @param point the point to check
+     * @param type the region type to check
+     * @return true if a region of the given type contains the point, false otherwise
+     */
+    private boolean scanRegionTypeExists(Point point, AreaRegionType type)
     {
         for (AreaRegion region : getRegions(type))
         {
@@ -119,17 +412,122 @@ public class AreaChunk
         return false;
     }
 
-    public boolean regionTypeExists(Point point, List<AreaRegionType> types)
+    /**
+     * Returns the distance from the cell to the nearest cell in the given direction covered by a region of
+     * any of the given types, 0 if the cell itself is covered. Cells outside the chunk are never covered.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param direction the direction to look in
+     * @param types the region types to check
+     * @return the distance to the nearest covered cell, capped at ClearanceField.MAX_CLEARANCE
+     */
+    public int getClearance(int x, int y, CardinalDirection direction, List<AreaRegionType> types)
     {
+        int clearance = ClearanceField.MAX_CLEARANCE;
         for (AreaRegionType type : types)
         {
-            if (regionTypeExists(point, type))
+            clearance = Math.min(clearance, this.clearance[type.ordinal()].get(x, y, direction));
+        }
+
+        return clearance;
+    }
+
+    /**
+     * Determines if the cell and the given number of cells after it in the direction are not covered by
+     * a region of any of the given types. Cells outside the chunk are never covered.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param direction the direction to look in
+     * @param distance the number of cells to check after the cell
+     * @param types the region types to check
+     * @return true if none of the cells are covered, false otherwise
+     */
+    public boolean isClear(int x, int y, CardinalDirection direction, int distance, List<AreaRegionType> types)
+    {
+        if (distance < ClearanceField.MAX_CLEARANCE)
+        {
+            return this.getClearance(x, y, direction, types) > distance;
+        }
+
+        final int mask = OccupancyGrid.mask(types);
+        final Point start = new Point(x, y);
+
+        for (int step = 0; step <= distance; step++)
+        {
+            Point point = start.toDirection(direction, step);
+            if (!this.inBounds(point))
             {
-                return true;
+                break;
+            }
+
+            if (this.occupancy.test(point.x(), point.y(), mask))
+            {
+                return false;
             }
         }
 
-        return false;
+        return true;
+    }
+
+    /**
+     * Determines if the cell is within the chunk and no cell within the given distance along its row and
+     * column, including the cell itself, is covered by a region of any of the given types.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @param distance the distance to check in every direction
+     * @param types the region types to check
+     * @return true if the cell is within the chunk and clear, false otherwise
+     */
+    public boolean isClear(int x, int y, int distance, List<AreaRegionType> types)
+    {
+        if (!this.inBounds(x, y))
+        {
+            return false;
+        }
+
+        if (distance < ClearanceField.MAX_CLEARANCE && types.size() == 1)
+        {
+            return this.clearance[types.get(0).ordinal()].isClear(x, y, distance);
+        }
+
+        for (CardinalDirection direction : CardinalDirection.values())
+        {
+            if (!this.isClear(x, y, direction, distance, types))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns a mask of the cells within the chunk covered by a region of any of the given types,
+     * built from the occupancy grid in a single pass.
+     *
+     * @param types the region types to include
+     * @return the mask of the covered cells
+     */
+    public BitmaskRegion getMask(List<AreaRegionType> types)
+    {
+        final int mask = OccupancyGrid.mask(types);
+        BitmaskRegion result = new BitmaskRegion(this.height, this.width);
+
+        for (int y = 0; y < this.height; y++)
+        {
+            for (int x = 0; x < this.width; x++)
+            {
+                if (this.occupancy.test(x, y, mask))
+                {
+                    result.set(x, y);
+                }
+            }
+        }
+
+        return result;
     }
 
     public LineRegion getEdge(CardinalDirection direction)
@@ -151,15 +549,29 @@ public class AreaChunk
         return ((double) usedArea / totalArea) * 100;
     }
 
+    /**
+     * Returns the percentage of the chunk used by regions of the given type, summing the sizes of the regions.
+     *
+     * @param type the region type
+     * @return the percentage of the chunk used by the region type
+     */
     public double getRegionUsage(AreaRegionType type)
     {
-        int totalArea = height * width;
-        int usedArea = 0;
+        return this.getRegionUsage(type, false);
+    }
 
-        for (AreaRegion region : regions.getOrDefault(type, new ArrayList<>()))
-        {
-            usedArea += region.getRegion().size();
-        }
+    /**
+     * Returns the percentage of the chunk used by regions of the given type.
+     *
+     * @param type the region type
+     * @param distinct true to count each occupied cell of the chunk once, false to sum the sizes of the regions
+     *                 which counts overlapping cells such as crossings more than once
+     * @return the percentage of the chunk used by the region type
+     */
+    public double getRegionUsage(AreaRegionType type, boolean distinct)
+    {
+        int totalArea = height * width;
+        int usedArea = distinct ? this.occupancy.getCount(type) : this.usage[type.ordinal()];
 
         return ((double) usedArea / totalArea) * 100;
     }
@@ -178,7 +590,12 @@ public class AreaChunk
 
     public boolean inBounds(Point point)
     {
-        return point.x() >= 0 && point.x() < this.width && point.y() >= 0 && point.y() < this.height;
+        return this.inBounds(point.x(), point.y());
+    }
+
+    public boolean inBounds(int x, int y)
+    {
+        return x >= 0 && x < this.width && y >= 0 && y < this.height;
     }
 
     public boolean isCorner(Point point)
@@ -231,28 +648,13 @@ public class AreaChunk
     public PointRegion getNeighbors(Point point, CardinalDirection direction, int distance)
     {
         List<Point> points = new ArrayList<>();
-        for(Point traversedPoint : this.traverseDirection(point, direction.getLeft(), distance, false).getPoints())
-        {
-            if(!this.inBounds(traversedPoint))
-            {
-                break;
-            }
-
-            points.add(traversedPoint);
-        }
-
-        for(Point traversedPoint : this.traverseDirection(point, direction.getRight(), distance, false).getPoints())
-        {
-            if(!this.inBounds(traversedPoint))
-            {
-                break;
-            }
-
-            points.add(traversedPoint);
-        }
+        this.traverseDirection(point, direction.getLeft(), distance, false).anyPoint((x, y) ->
+                !this.inBounds(x, y) || !points.add(new Point(x, y)));
+        this.traverseDirection(point, direction.getRight(), distance, false).anyPoint((x, y) ->
+                !this.inBounds(x, y) || !points.add(new Point(x, y)));
 
         points.add(point);
-        return new PointRegion(points);
+        return new PointRegion(points, false);
     }
 
     public Point getCenter()
@@ -260,4 +662,27 @@ public class AreaChunk
         return new Point(width / 2, height / 2);
     }
 
+    /**
+     * Returns a rough estimate of the heap used by the chunk in bytes, covering the per-cell grids and the
+     * points of every region as if they were stored explicitly. It is meant for budgeting resident chunks
+     * rather than exact accounting.
+     *
+     * @return the estimated size of the chunk in bytes
+     */
+    public long estimateSize()
+    {
+        final long cells = (long) this.height * this.width;
+        final int types = AreaRegionType.values().length;
+
+        // Occupancy and raster use an int per cell, every clearance field a byte per cell and direction
+        long size = cells * (Integer.BYTES * 2L + (long) types * CardinalDirection.values().length);
+
+        for (AreaRegion region : this.getRegions())
+        {
+            size += REGION_OVERHEAD + (long) region.getRegion().size() * POINT_SIZE;
+        }
+
+        return size;
+    }
+
 }
@@ -0,0 +1,188 @@
+package me.netkas.lifelesslife.objects;
+
+import me.netkas.lifelesslife.classes.MemoryUtilities;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+public final class ClearanceField
+{
+    /**
+     * The largest clearance tracked by the field, cells further away from any occupied cell report this value.
+     */
+    public static final int MAX_CLEARANCE = 32;
+
+    private final int height;
+    private final int width;
+    private final int cells;
+    private final MemorySegment rays;
+
+    /**
+     * Constructs a clearance field covering an empty chunk of the given dimensions.
+     * For every cell and cardinal direction the field stores the distance to the nearest occupied cell
+     * found by walking from the cell in that direction, which is 0 when the cell itself is occupied.
+     * The cells outside the chunk are treated as free.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     */
+    public ClearanceField(int height, int width)
+    {
+        this(height, width, null);
+    }
+
+    /**
+     * Constructs a clearance field covering an empty chunk whose rays are allocated from the arena.
+     * The rays of all directions share a single segment, one after the other. The field must not be used once
+     * the arena is closed.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     * @param arena the arena to allocate the rays from, or null to allocate them on the heap
+     */
+    public ClearanceField(int height, int width, Arena arena)
+    {
+        this.height = height;
+        this.width = width;
+        this.cells = height * width;
+        this.rays = MemoryUtilities.allocate(arena, ValueLayout.JAVA_BYTE, CardinalDirection.values().length * this.cells);
+        this.rays.fill((byte) MAX_CLEARANCE);
+    }
+
+    /**
+     * Constructs a copy of the clearance field whose rays are allocated from the arena.
+     *
+     * @param source the field to copy
+     * @param arena the arena to allocate the rays from, or null to allocate them on the heap
+     */
+    public ClearanceField(ClearanceField source, Arena arena)
+    {
+        this.height = source.height;
+        this.width = source.width;
+        this.cells = source.cells;
+        this.rays = MemoryUtilities.copy(source.rays, arena, ValueLayout.JAVA_BYTE);
+    }
+
+    /**
+     * Returns the distance from the cell to the nearest occupied cell in the given direction.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param direction the direction to look in
+     * @return the distance to the nearest occupied cell, capped at MAX_CLEARANCE
+     */
+    public int get(int x, int y, CardinalDirection direction)
+    {
+        return this.rays.get(ValueLayout.JAVA_BYTE, (long) direction.ordinal() * this.cells + y * this.width + x);
+    }
+
+    /**
+     * Determines if the cell and every cell within the given distance along its row and column are free.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param distance the distance to check, must be lower than MAX_CLEARANCE
+     * @return true if no occupied cell is within the distance, false otherwise
+     */
+    public boolean isClear(int x, int y, int distance)
+    {
+        final long index = y * this.width + x;
+        for (long ray = 0; ray < this.rays.byteSize(); ray += this.cells)
+        {
+            if (this.rays.get(ValueLayout.JAVA_BYTE, ray + index) <= distance)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Updates the field after the occupancy of a cell changed. Only the cells whose nearest occupied cell
+     * changes are rewritten, which are at most MAX_CLEARANCE cells along the row and column of the cell.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param occupied true if the cell is now occupied, false if it was freed
+     */
+    public void update(int x, int y, boolean occupied)
+    {
+        for (CardinalDirection direction : CardinalDirection.values())
+        {
+            final long ray = (long) direction.ordinal() * this.cells;
+            final int dx = deltaX(direction);
+            final int dy = deltaY(direction);
+
+            int value = occupied ? 0 : this.next(ray, x + dx, y + dy);
+            int cx = x;
+            int cy = y;
+
+            // Walk against the direction, each cell sees one more step to the occupied cell than its predecessor
+            while (true)
+            {
+                final long index = ray + cy * this.width + cx;
+                if (this.rays.get(ValueLayout.JAVA_BYTE, index) == value)
+                {
+                    break;
+                }
+
+                this.rays.set(ValueLayout.JAVA_BYTE, index, (byte) value);
+                cx -= dx;
+                cy -= dy;
+
+                if (!this.inBounds(cx, cy) || this.rays.get(ValueLayout.JAVA_BYTE, ray + cy * this.width + cx) == 0)
+                {
+                    break;
+                }
+
+                value = Math.min(MAX_CLEARANCE, value + 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the clearance of a free cell whose neighbour in the direction of the ray is the given cell.
+     *
+     * @param ray the offset of the ray being updated
+     * @param x the x-coordinate of the neighbour
+     * @param y the y-coordinate of the neighbour
+     * @return the clearance of the cell next to the neighbour
+     */
+    private int next(long ray, int x, int y)
+    {
+        if (!this.inBounds(x, y))
+        {
+            return MAX_CLEARANCE;
+        }
+
+        return Math.min(MAX_CLEARANCE, this.rays.get(ValueLayout.JAVA_BYTE, ray + y * this.width + x) + 1);
+    }
+
+    private boolean inBounds(int x, int y)
+    {
+        return x >= 0 && x < this.width && y >= 0 && y < this.height;
+    }
+
+    private static int deltaX(CardinalDirection direction)
+    {
+        return switch (direction)
+        {
+            case EAST -> 1;
+            case WEST -> -1;
+            default -> 0;
+        };
+    }
+
+    private static int deltaY(CardinalDirection direction)
+    {
+        return switch (direction)
+        {
+            case NORTH -> -1;
+            case SOUTH -> 1;
+            default -> 0;
+        };
+    }
+}
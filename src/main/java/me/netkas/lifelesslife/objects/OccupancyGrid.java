@@ -0,0 +1,193 @@
+package me.netkas.lifelesslife.objects;
+
+import me.netkas.lifelesslife.classes.MemoryUtilities;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.List;
+
+public final class OccupancyGrid
+{
+    private final int height;
+    private final int width;
+    private final MemorySegment cells;
+    private final int[] counts;
+
+    static
+    {
+        if (AreaRegionType.values().length > Integer.SIZE)
+        {
+            throw new IllegalStateException("The occupancy grid supports at most " + Integer.SIZE + " region types.");
+        }
+    }
+
+    /**
+     * Constructs an empty occupancy grid covering a chunk of the given dimensions.
+     * Each cell stores one bit per AreaRegionType indicating whether a region of that type covers it.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     */
+    public OccupancyGrid(int height, int width)
+    {
+        this(height, width, null);
+    }
+
+    /**
+     * Constructs an empty occupancy grid whose cells are allocated from the arena.
+     * The grid must not be used once the arena is closed.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     * @param arena the arena to allocate the cells from, or null to allocate them on the heap
+     */
+    public OccupancyGrid(int height, int width, Arena arena)
+    {
+        this.height = height;
+        this.width = width;
+        this.cells = MemoryUtilities.allocate(arena, ValueLayout.JAVA_INT, height * width);
+        this.counts = new int[AreaRegionType.values().length];
+    }
+
+    /**
+     * Constructs a copy of the occupancy grid whose cells are allocated from the arena.
+     *
+     * @param source the grid to copy
+     * @param arena the arena to allocate the cells from, or null to allocate them on the heap
+     */
+    public OccupancyGrid(OccupancyGrid source, Arena arena)
+    {
+        this.height = source.height;
+        this.width = source.width;
+        this.cells = MemoryUtilities.copy(source.cells, arena, ValueLayout.JAVA_INT);
+        this.counts = source.counts.clone();
+    }
+
+    /**
+     * Returns the bit used to represent the given region type in a cell mask.
+     *
+     * @param type the region type
+     * @return the bit representing the region type
+     */
+    public static int bit(AreaRegionType type)
+    {
+        return 1 << type.ordinal();
+    }
+
+    /**
+     * Returns the combined mask of the given region types.
+     *
+     * @param types the region types to combine
+     * @return the combined mask of the region types
+     */
+    public static int mask(List<AreaRegionType> types)
+    {
+        int mask = 0;
+        for (AreaRegionType type : types)
+        {
+            mask |= bit(type);
+        }
+
+        return mask;
+    }
+
+    /**
+     * Returns the number of distinct cells covered by the given region type.
+     *
+     * @param type the region type
+     * @return the number of cells covered by the region type
+     */
+    public int getCount(AreaRegionType type)
+    {
+        return this.counts[type.ordinal()];
+    }
+
+    /**
+     * Determines if the given coordinates are covered by the grid.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return true if the coordinates are within the grid, false otherwise
+     */
+    public boolean inBounds(int x, int y)
+    {
+        return x >= 0 && x < this.width && y >= 0 && y < this.height;
+    }
+
+    /**
+     * Returns the mask of region types covering the given cell.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @return the mask of region types covering the cell
+     */
+    public int get(int x, int y)
+    {
+        return this.cells.getAtIndex(ValueLayout.JAVA_INT, y * this.width + x);
+    }
+
+    /**
+     * Determines if any of the region types in the mask covers the given cell.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param mask the mask of region types to check
+     * @return true if the cell is covered by any of the region types, false otherwise
+     */
+    public boolean test(int x, int y, int mask)
+    {
+        return (this.get(x, y) & mask) != 0;
+    }
+
+    /**
+     * Marks the given cell as covered by the region type.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param type the region type covering the cell
+     * @return true if the cell was not covered by the region type before, false otherwise
+     */
+    public boolean set(int x, int y, AreaRegionType type)
+    {
+        final int index = y * this.width + x;
+        final int bit = bit(type);
+
+        final int value = this.cells.getAtIndex(ValueLayout.JAVA_INT, index);
+
+        if ((value & bit) != 0)
+        {
+            return false;
+        }
+
+        this.cells.setAtIndex(ValueLayout.JAVA_INT, index, value | bit);
+        this.counts[type.ordinal()]++;
+        return true;
+    }
+
+    /**
+     * Marks the given cell as no longer covered by the region type.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param type the region type to clear from the cell
+     * @return true if the cell was covered by the region type before, false otherwise
+     */
+    public boolean clear(int x, int y, AreaRegionType type)
+    {
+        final int index = y * this.width + x;
+        final int bit = bit(type);
+
+        final int value = this.cells.getAtIndex(ValueLayout.JAVA_INT, index);
+
+        if ((value & bit) == 0)
+        {
+            return false;
+        }
+
+        this.cells.setAtIndex(ValueLayout.JAVA_INT, index, value & ~bit);
+        this.counts[type.ordinal()]--;
+        return true;
+    }
+}
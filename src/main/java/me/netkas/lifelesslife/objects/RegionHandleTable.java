@@ -0,0 +1,127 @@
+package me.netkas.lifelesslife.objects;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class RegionHandleTable
+{
+    private final List<AreaRegion> regions;
+    private final Map<AreaRegion, Integer> handles;
+    private final Deque<Integer> freeHandles;
+
+    /**
+     * Constructs an empty handle table. Handles are small positive integers that identify a region within
+     * a chunk, they index directly into the table and are reused once their region is released.
+     */
+    public RegionHandleTable()
+    {
+        this.regions = new ArrayList<>();
+        this.handles = new IdentityHashMap<>();
+        this.freeHandles = new ArrayDeque<>();
+    }
+
+    /**
+     * Constructs a copy of the handle table in which every region keeps its handle.
+     *
+     * @param source the table to copy
+     */
+    public RegionHandleTable(RegionHandleTable source)
+    {
+        this.regions = new ArrayList<>(source.regions);
+        this.handles = new IdentityHashMap<>(source.handles);
+        this.freeHandles = new ArrayDeque<>(source.freeHandles);
+    }
+
+    /**
+     * Assigns a handle to the region, reusing handles released by removed regions.
+     * A region that already has a handle keeps it.
+     *
+     * @param region the region to assign a handle to
+     * @return the positive handle of the region
+     */
+    public int allocate(AreaRegion region)
+    {
+        final Integer existing = this.handles.get(region);
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        final int handle;
+        if (this.freeHandles.isEmpty())
+        {
+            this.regions.add(region);
+            handle = this.regions.size();
+        }
+        else
+        {
+            handle = this.freeHandles.pop();
+            this.regions.set(handle - 1, region);
+        }
+
+        this.handles.put(region, handle);
+        return handle;
+    }
+
+    /**
+     * Releases the handle of the region so that it can be assigned to another region.
+     *
+     * @param region the region to release
+     * @return the handle the region had, or 0 if it had none
+     */
+    public int release(AreaRegion region)
+    {
+        final Integer handle = this.handles.remove(region);
+        if (handle == null)
+        {
+            return 0;
+        }
+
+        this.regions.set(handle - 1, null);
+        this.freeHandles.push(handle);
+        return handle;
+    }
+
+    /**
+     * Returns the region identified by the handle.
+     *
+     * @param handle the handle of the region
+     * @return the region, or null if the handle is not assigned
+     */
+    public AreaRegion get(int handle)
+    {
+        if (handle <= 0 || handle > this.regions.size())
+        {
+            return null;
+        }
+
+        return this.regions.get(handle - 1);
+    }
+
+    /**
+     * Returns the handle assigned to the region.
+     *
+     * @param region the region
+     * @return the handle of the region, or 0 if it has none
+     */
+    public int getHandle(AreaRegion region)
+    {
+        return this.handles.getOrDefault(region, 0);
+    }
+
+    /**
+     * Returns the number of regions holding a handle.
+     *
+     * @return the number of assigned handles
+     */
+    public int size()
+    {
+        return this.handles.size();
+    }
+}
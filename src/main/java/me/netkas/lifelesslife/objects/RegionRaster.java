@@ -0,0 +1,221 @@
+package me.netkas.lifelesslife.objects;
+
+import me.netkas.lifelesslife.classes.MemoryUtilities;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+public final class RegionRaster
+{
+    private static final int[] EMPTY = new int[0];
+
+    private final int width;
+    private final MemorySegment cells;
+    private final List<int[]> overflow;
+    private final Deque<Integer> freeOverflow;
+
+    /**
+     * Constructs an empty raster covering a chunk of the given dimensions.
+     * Each cell holds either 0 (no region), a positive region handle, or a negative reference into the
+     * overflow table for cells covered by more than one region such as street crossings.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     */
+    public RegionRaster(int height, int width)
+    {
+        this(height, width, null);
+    }
+
+    /**
+     * Constructs an empty raster whose cells are allocated from the arena, the overflow table stays on the heap.
+     * The raster must not be used once the arena is closed.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     * @param arena the arena to allocate the cells from, or null to allocate them on the heap
+     */
+    public RegionRaster(int height, int width, Arena arena)
+    {
+        this.width = width;
+        this.cells = MemoryUtilities.allocate(arena, ValueLayout.JAVA_INT, height * width);
+        this.overflow = new ArrayList<>();
+        this.freeOverflow = new ArrayDeque<>();
+    }
+
+    /**
+     * Constructs a copy of the raster whose cells are allocated from the arena.
+     *
+     * @param source the raster to copy
+     * @param arena the arena to allocate the cells from, or null to allocate them on the heap
+     */
+    public RegionRaster(RegionRaster source, Arena arena)
+    {
+        this.width = source.width;
+        this.cells = MemoryUtilities.copy(source.cells, arena, ValueLayout.JAVA_INT);
+
+        // Overflow entries are replaced rather than modified, so they can be shared with the source
+        this.overflow = new ArrayList<>(source.overflow);
+        this.freeOverflow = new ArrayDeque<>(source.freeOverflow);
+    }
+
+    /**
+     * Determines if the given cell holds any region handle.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @return true if at least one region covers the cell, false otherwise
+     */
+    public boolean isOccupied(int x, int y)
+    {
+        return this.cells.getAtIndex(ValueLayout.JAVA_INT, y * this.width + x) != 0;
+    }
+
+    /**
+     * Returns the handles of all regions covering the given cell, in the order they were added.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @return the handles covering the cell, empty if no region covers it
+     */
+    public int[] getHandles(int x, int y)
+    {
+        final int value = this.cells.getAtIndex(ValueLayout.JAVA_INT, y * this.width + x);
+
+        if (value == 0)
+        {
+            return EMPTY;
+        }
+
+        if (value > 0)
+        {
+            return new int[]{value};
+        }
+
+        return this.overflow.get(-value - 1).clone();
+    }
+
+    /**
+     * Adds a region handle to the given cell.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param handle the positive region handle to add
+     * @throws IllegalArgumentException if the handle is not positive
+     */
+    public void add(int x, int y, int handle)
+    {
+        if (handle <= 0)
+        {
+            throw new IllegalArgumentException("Region handles must be positive, got: " + handle);
+        }
+
+        final int index = y * this.width + x;
+        final int value = this.cells.getAtIndex(ValueLayout.JAVA_INT, index);
+
+        if (value == 0)
+        {
+            this.cells.setAtIndex(ValueLayout.JAVA_INT, index, handle);
+        }
+        else if (value > 0)
+        {
+            if (value != handle)
+            {
+                this.cells.setAtIndex(ValueLayout.JAVA_INT, index, this.allocateOverflow(new int[]{value, handle}));
+            }
+        }
+        else
+        {
+            final int[] handles = this.overflow.get(-value - 1);
+            for (int existing : handles)
+            {
+                if (existing == handle)
+                {
+                    return;
+                }
+            }
+
+            final int[] grown = Arrays.copyOf(handles, handles.length + 1);
+            grown[handles.length] = handle;
+            this.overflow.set(-value - 1, grown);
+        }
+    }
+
+    /**
+     * Removes a region handle from the given cell, collapsing the overflow entry when a single handle remains.
+     *
+     * @param x the x-coordinate of the cell, must be within bounds
+     * @param y the y-coordinate of the cell, must be within bounds
+     * @param handle the region handle to remove
+     */
+    public void remove(int x, int y, int handle)
+    {
+        final int index = y * this.width + x;
+        final int value = this.cells.getAtIndex(ValueLayout.JAVA_INT, index);
+
+        if (value == handle)
+        {
+            this.cells.setAtIndex(ValueLayout.JAVA_INT, index, 0);
+            return;
+        }
+
+        if (value >= 0)
+        {
+            return;
+        }
+
+        final int[] handles = this.overflow.get(-value - 1);
+        int position = -1;
+        for (int i = 0; i < handles.length; i++)
+        {
+            if (handles[i] == handle)
+            {
+                position = i;
+                break;
+            }
+        }
+
+        if (position < 0)
+        {
+            return;
+        }
+
+        if (handles.length == 2)
+        {
+            this.cells.setAtIndex(ValueLayout.JAVA_INT, index, handles[1 - position]);
+            this.overflow.set(-value - 1, null);
+            this.freeOverflow.push(-value - 1);
+            return;
+        }
+
+        final int[] shrunk = new int[handles.length - 1];
+        System.arraycopy(handles, 0, shrunk, 0, position);
+        System.arraycopy(handles, position + 1, shrunk, position, handles.length - position - 1);
+        this.overflow.set(-value - 1, shrunk);
+    }
+
+    /**
+     * Stores the handles in the overflow table, reusing a released slot when one is available.
+     *
+     * @param handles the handles to store
+     * @return the negative cell value referencing the overflow entry
+     */
+    private int allocateOverflow(int[] handles)
+    {
+        if (!this.freeOverflow.isEmpty())
+        {
+            final int slot = this.freeOverflow.pop();
+            this.overflow.set(slot, handles);
+            return -(slot + 1);
+        }
+
+        this.overflow.add(handles);
+        return -this.overflow.size();
+    }
+}
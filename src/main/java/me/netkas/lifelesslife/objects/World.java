@@ -0,0 +1,963 @@
+package me.netkas.lifelesslife.objects;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.abstracts.LayerGenerator;
+import me.netkas.lifelesslife.classes.layer_generators.GenerationPipeline;
+import me.netkas.lifelesslife.classes.storage.ChunkCodec;
+import me.netkas.lifelesslife.classes.storage.ChunkIOService;
+import me.netkas.lifelesslife.classes.storage.ChunkJournal;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.interfaces.ChunkListener;
+import me.netkas.lifelesslife.interfaces.ChunkStore;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+import me.netkas.lifelesslife.records.ResidencyStats;
+import me.netkas.lifelesslife.records.WorldSeed;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+public class World implements Closeable
+{
+    private static final Logger logger = Logger.getLogger(World.class.getName());
+
+    /**
+     * The default number of ticks a chunk has to go unaccessed before it is compressed.
+     */
+    public static final int DEFAULT_IDLE_TICKS = 30;
+
+    /**
+     * The estimated heap used by a compressed chunk on top of its data, covering the array and its entry.
+     */
+    private static final int COMPRESSED_OVERHEAD = 64;
+
+    private final WorldSeed seed;
+    private final int chunkHeight;
+    private final int chunkWidth;
+    private final DensityLevel level;
+    private final GenerationPipeline pipeline;
+    private final ChunkStore store;
+    private final long maxResidentBytes;
+    private final LinkedHashMap<ChunkCoordinate, ResidentChunk> resident;
+    private long residentBytes;
+    private ChunkJournal journal;
+    private int idleTicks;
+    private boolean offHeap;
+    private long tick;
+    private long hits;
+    private long coldHits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs a world whose chunks are generated on first access and regenerated from the seed
+     * whenever they were evicted.
+     *
+     * @param seed the seed every chunk is generated from
+     * @param chunkHeight the height of every chunk
+     * @param chunkWidth the width of every chunk
+     * @param level the density level passed to the layer generators
+     * @param generators the layer generators applied to new chunks, run in the order of their dependencies
+     * @param maxResidentBytes the estimated heap budget of the resident chunks
+     */
+    public World(long seed, int chunkHeight, int chunkWidth, DensityLevel level, List<LayerGenerator> generators, long maxResidentBytes)
+    {
+        this(seed, chunkHeight, chunkWidth, level, generators, maxResidentBytes, null);
+    }
+
+    /**
+     * Constructs a world whose chunks are loaded from the store when present and generated on first access
+     * otherwise. Evicted chunks are saved to the store so they can be reloaded later.
+     *
+     * @param seed the seed every chunk is generated from
+     * @param chunkHeight the height of every chunk
+     * @param chunkWidth the width of every chunk
+     * @param level the density level passed to the layer generators
+     * @param generators the layer generators applied to new chunks, run in the order of their dependencies
+     * @param maxResidentBytes the estimated heap budget of the resident chunks
+     * @param store the store evicted chunks are saved to, or null to regenerate them from the seed instead
+     * @throws IllegalArgumentException if the chunk dimensions or the budget are not positive, or the
+     *                                  dependencies of the layer generators cannot be resolved
+     */
+    public World(long seed, int chunkHeight, int chunkWidth, DensityLevel level, List<LayerGenerator> generators, long maxResidentBytes, ChunkStore store)
+    {
+        if (chunkHeight <= 0 || chunkWidth <= 0)
+        {
+            throw new IllegalArgumentException("The dimensions of a chunk must be positive.");
+        }
+
+        if (maxResidentBytes <= 0)
+        {
+            throw new IllegalArgumentException("The resident budget must be positive.");
+        }
+
+        this.seed = new WorldSeed(seed);
+        this.chunkHeight = chunkHeight;
+        this.chunkWidth = chunkWidth;
+        this.level = level;
+        this.pipeline = new GenerationPipeline(generators);
+        this.store = store;
+        this.maxResidentBytes = maxResidentBytes;
+        this.resident = new LinkedHashMap<>(16, 0.75f, true);
+        this.residentBytes = 0;
+        this.idleTicks = DEFAULT_IDLE_TICKS;
+        this.offHeap = false;
+        this.tick = 0;
+        this.evictions = 0;
+    }
+
+    public long getSeed()
+    {
+        return this.seed.seed();
+    }
+
+    public int getChunkHeight()
+    {
+        return this.chunkHeight;
+    }
+
+    public int getChunkWidth()
+    {
+        return this.chunkWidth;
+    }
+
+    public DensityLevel getLevel()
+    {
+        return this.level;
+    }
+
+    public synchronized int getIdleTicks()
+    {
+        return this.idleTicks;
+    }
+
+    /**
+     * Sets the number of ticks a resident chunk has to go unaccessed before tick compresses it.
+     *
+     * @param idleTicks the number of idle ticks
+     * @throws IllegalArgumentException if idleTicks is not positive
+     */
+    public synchronized void setIdleTicks(int idleTicks)
+    {
+        if (idleTicks <= 0)
+        {
+            throw new IllegalArgumentException("The number of idle ticks must be positive.");
+        }
+
+        this.idleTicks = idleTicks;
+    }
+
+    public synchronized boolean isOffHeap()
+    {
+        return this.offHeap;
+    }
+
+    /**
+     * Sets whether the per-cell grids of chunks becoming resident are allocated off the heap. Every such chunk
+     * gets its own automatic arena, whose native memory is returned once the chunk is no longer reachable, so a
+     * chunk stays valid for every thread holding it after it was evicted or compressed.
+     *
+     * @param offHeap true to allocate the grids of resident chunks off the heap, false to keep them on it
+     */
+    public synchronized void setOffHeap(boolean offHeap)
+    {
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Sets the journal recording every region added to or removed from a resident chunk.
+     * Chunks that are already resident are attached to the new journal right away.
+     *
+     * @param journal the journal, or null to stop recording
+     */
+    public synchronized void setJournal(ChunkJournal journal)
+    {
+        for (Map.Entry<ChunkCoordinate, ResidentChunk> entry : this.resident.entrySet())
+        {
+            final AreaChunk chunk = entry.getValue().getLive();
+            if (chunk == null)
+            {
+                continue;
+            }
+
+            if (this.journal != null)
+            {
+                this.journal.detach(entry.getKey());
+            }
+
+            if (journal != null)
+            {
+                journal.attach(entry.getKey(), chunk);
+            }
+        }
+
+        this.journal = journal;
+    }
+
+    public synchronized ChunkJournal getJournal()
+    {
+        return this.journal;
+    }
+
+    /**
+     * Returns the chunk at the given coordinate, loading or generating it if it is not resident.
+     *
+     * @param x the x-coordinate of the chunk
+     * @param y the y-coordinate of the chunk
+     * @return the chunk at the coordinate
+     */
+    public AreaChunk getChunk(int x, int y)
+    {
+        return this.getChunk(new ChunkCoordinate(x, y));
+    }
+
+    /**
+     * Returns the chunk at the given coordinate, loading or generating it if it is not resident.
+     * Accessing a chunk marks it as the most recently used, the least recently used chunks are evicted once
+     * the estimated size of the resident chunks exceeds the budget. A compressed chunk is rehydrated.
+     * A chunk that is not resident is read from the store while holding the lock of the world, getChunkAsync
+     * reads it without.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return the chunk at the coordinate
+     * @throws UncheckedIOException if the store fails to load or save a chunk
+     */
+    public synchronized AreaChunk getChunk(ChunkCoordinate coordinate)
+    {
+        ResidentChunk entry = this.resident.get(coordinate);
+        if (entry != null)
+        {
+            entry.lastAccess = this.tick;
+            if (entry.chunk != null)
+            {
+                this.hits++;
+                return entry.chunk;
+            }
+
+            this.coldHits++;
+            return this.rehydrate(coordinate, entry);
+        }
+
+        this.misses++;
+        return this.completeLoad(coordinate, this.loadChunk(coordinate));
+    }
+
+    /**
+     * Returns the chunk at the given coordinate like getChunk, but reads a chunk that is not resident from the
+     * store without holding the lock of the world, so neither the calling thread nor other users of the world
+     * wait for the disk. The read runs on the virtual threads of a ChunkIOService store, or on the common
+     * ForkJoinPool for any other store. Resident chunks and worlds without a store complete right away.
+     * If any chunk was written back to the store while the read was running, the read may have missed it and
+     * is started again.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return a future completed with the chunk at the coordinate, or completed exceptionally with an
+     *         UncheckedIOException if the store fails to load or save a chunk
+     */
+    public CompletableFuture<AreaChunk> getChunkAsync(ChunkCoordinate coordinate)
+    {
+        final long evictions;
+        synchronized (this)
+        {
+            if (this.store == null || this.resident.containsKey(coordinate))
+            {
+                try
+                {
+                    return CompletableFuture.completedFuture(this.getChunk(coordinate));
+                }
+                catch (UncheckedIOException e)
+                {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+
+            evictions = this.evictions;
+        }
+
+        return this.loadChunkAsync(coordinate).thenCompose(chunk -> this.admitLoaded(coordinate, chunk, evictions));
+    }
+
+    /**
+     * Determines if the chunk at the given coordinate is currently held in memory.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return true if the chunk is resident, false otherwise
+     */
+    public synchronized boolean isResident(ChunkCoordinate coordinate)
+    {
+        return this.resident.containsKey(coordinate);
+    }
+
+    /**
+     * Returns the number of chunks currently held in memory.
+     *
+     * @return the number of resident chunks
+     */
+    public synchronized int getResidentCount()
+    {
+        return this.resident.size();
+    }
+
+    /**
+     * Returns the estimated size of the chunks currently held in memory, compressed chunks counting with their
+     * compressed size.
+     *
+     * @return the estimated size of the resident chunks in bytes
+     */
+    public synchronized long getResidentBytes()
+    {
+        return this.residentBytes;
+    }
+
+    /**
+     * Returns the hit rate of the resident chunks and the compression ratio of the compressed ones.
+     *
+     * @return a snapshot of the residency statistics
+     */
+    public synchronized ResidencyStats getStats()
+    {
+        int compressedChunks = 0;
+        long compressedBytes = 0;
+        long uncompressedBytes = 0;
+
+        for (ResidentChunk entry : this.resident.values())
+        {
+            if (entry.compressed != null)
+            {
+                compressedChunks++;
+                compressedBytes += entry.compressed.length;
+                uncompressedBytes += entry.estimate;
+            }
+        }
+
+        return new ResidencyStats(this.hits, this.coldHits, this.misses, compressedChunks, compressedBytes, uncompressedBytes);
+    }
+
+    /**
+     * Advances the world by one tick and compresses every resident chunk that was not accessed for the number of
+     * idle ticks. Compressed chunks stay resident at a fraction of their size and are rehydrated on their next
+     * access. Compression is transparent to callers still holding a chunk: the entry keeps a weak reference to
+     * the materialized chunk, which stays attached to the journal, and hands out that same instance again for as
+     * long as it is reachable. A held chunk that changes is materialized again right away, so the compressed
+     * form is only ever decoded once nobody holds the chunk anymore and it still matches the chunk.
+     * A chunk that cannot be compressed is logged and left materialized until it goes idle again.
+     *
+     * @return the number of chunks compressed during this tick
+     */
+    public synchronized int tick()
+    {
+        this.tick++;
+        int compressed = 0;
+
+        for (Map.Entry<ChunkCoordinate, ResidentChunk> entry : this.resident.entrySet())
+        {
+            ResidentChunk value = entry.getValue();
+            if (value.chunk == null || this.tick - value.lastAccess < this.idleTicks)
+            {
+                continue;
+            }
+
+            final long size = value.size;
+            final AreaChunk chunk = value.chunk;
+            try
+            {
+                value.compress();
+            }
+            catch (IllegalArgumentException e)
+            {
+                logger.warning(String.format("Failed to compress chunk %s: %s", entry.getKey(), e.getMessage()));
+                value.lastAccess = this.tick;
+                continue;
+            }
+
+            this.residentBytes += value.size - size;
+            chunk.addListener(new CompressionListener(entry.getKey(), value));
+
+            compressed++;
+        }
+
+        if (compressed > 0)
+        {
+            logger.fine(String.format("Compressed %s idle chunks, resident size: %s/%s", compressed, this.residentBytes, this.maxResidentBytes));
+        }
+
+        return compressed;
+    }
+
+    /**
+     * Returns the pipeline generating the layers of new chunks.
+     *
+     * @return the generation pipeline
+     */
+    public GenerationPipeline getPipeline()
+    {
+        return this.pipeline;
+    }
+
+    /**
+     * Generates a new chunk at the given coordinate by running every layer of the pipeline.
+     * Every layer draws from its own stream derived from the world seed, the coordinate and the position of the
+     * layer, so a chunk generated again after being evicted is identical to the original.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return the generated chunk
+     */
+    public AreaChunk generateChunk(ChunkCoordinate coordinate)
+    {
+        return this.pipeline.generate(new AreaChunk(this.chunkHeight, this.chunkWidth), this.level, this.seed.forChunk(coordinate));
+    }
+
+    /**
+     * Generates the chunks at the given coordinates on the common ForkJoinPool.
+     *
+     * @param coordinates the coordinates of the chunks to generate
+     * @return the number of chunks that were generated
+     */
+    public int pregenerate(Collection<ChunkCoordinate> coordinates)
+    {
+        return this.pregenerate(coordinates, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the chunks at the given coordinates in parallel on the executor, every layer of a chunk being
+     * scheduled as a task of its own so that the layers of different chunks overlap. Chunks that are already
+     * resident or stored are skipped. Generated chunks are saved to the store if one is configured, otherwise
+     * they become resident within the usual budget.
+     * Every chunk only depends on the world seed and its coordinate, so the result does not depend on the
+     * number of threads of the executor.
+     *
+     * @param coordinates the coordinates of the chunks to generate
+     * @param executor the executor running the generation
+     * @return the number of chunks that were generated
+     * @throws UncheckedIOException if the store fails to save a chunk
+     */
+    public int pregenerate(Collection<ChunkCoordinate> coordinates, Executor executor)
+    {
+        List<CompletableFuture<Boolean>> tasks = new ArrayList<>();
+        for (ChunkCoordinate coordinate : new LinkedHashSet<>(coordinates))
+        {
+            if (this.isAvailable(coordinate))
+            {
+                continue;
+            }
+
+            AreaChunk empty = new AreaChunk(this.chunkHeight, this.chunkWidth);
+            tasks.add(this.pipeline.generateAsync(empty, this.level, this.seed.forChunk(coordinate), executor)
+                    .thenApply(chunk -> this.admit(coordinate, chunk)));
+        }
+
+        int generated = 0;
+        for (CompletableFuture<Boolean> task : tasks)
+        {
+            try
+            {
+                generated += task.join() ? 1 : 0;
+            }
+            catch (CompletionException e)
+            {
+                if (e.getCause() instanceof RuntimeException cause)
+                {
+                    throw cause;
+                }
+
+                throw e;
+            }
+        }
+
+        return generated;
+    }
+
+    /**
+     * Saves every resident chunk to the store and, if the store buffers its writes, waits until they are written.
+     *
+     * @throws IOException if the store fails to save a chunk
+     */
+    public synchronized void flush() throws IOException
+    {
+        if (this.store == null)
+        {
+            return;
+        }
+
+        for (Map.Entry<ChunkCoordinate, ResidentChunk> entry : this.resident.entrySet())
+        {
+            this.store.save(entry.getKey(), entry.getValue().snapshot());
+        }
+
+        if (this.store instanceof Flushable flushable)
+        {
+            flushable.flush();
+        }
+    }
+
+    /**
+     * Replays the journal on top of the chunks in the store, or on top of the chunks generated again from the
+     * seed if they were never stored. Only the records written since the last checkpoint are replayed, so the
+     * time it takes does not depend on the size of the world.
+     *
+     * @return the number of records that were replayed
+     * @throws IOException if the journal cannot be read
+     * @throws IllegalStateException if the world has no journal
+     */
+    public synchronized int recover() throws IOException
+    {
+        if (this.journal == null)
+        {
+            throw new IllegalStateException("The world has no journal to recover from.");
+        }
+
+        final int replayed = this.journal.replay(this::getChunk);
+        logger.info(String.format("Replayed %s journal records", replayed));
+        return replayed;
+    }
+
+    /**
+     * Writes every resident chunk to the store and truncates the journal, the records it held are covered by
+     * the stored chunks from now on. Without a store the journal is kept, as it is the only copy of the changes.
+     *
+     * @throws IOException if the store fails to save a chunk or the journal cannot be truncated
+     */
+    public synchronized void checkpoint() throws IOException
+    {
+        this.flush();
+
+        if (this.store != null && this.journal != null)
+        {
+            this.journal.truncate();
+        }
+    }
+
+    /**
+     * Writes a checkpoint if the journal has grown past its checkpoint size.
+     *
+     * @return true if a checkpoint was written, false otherwise
+     * @throws IOException if the checkpoint could not be written
+     */
+    public synchronized boolean checkpointIfDue() throws IOException
+    {
+        if (this.store == null || this.journal == null || !this.journal.isCheckpointDue())
+        {
+            return false;
+        }
+
+        this.checkpoint();
+        return true;
+    }
+
+    /**
+     * Writes a checkpoint and closes the store and the journal. Resident chunks are kept in memory.
+     *
+     * @throws IOException if the store fails to save a chunk or to close
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        this.checkpoint();
+
+        if (this.journal != null)
+        {
+            this.journal.close();
+            this.journal = null;
+        }
+
+        if (this.store != null)
+        {
+            this.store.close();
+        }
+    }
+
+    /**
+     * Determines if the chunk at the given coordinate is resident or stored and does not need to be generated.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return true if the chunk already exists, false otherwise
+     */
+    private synchronized boolean isAvailable(ChunkCoordinate coordinate)
+    {
+        if (this.resident.containsKey(coordinate))
+        {
+            return true;
+        }
+
+        try
+        {
+            return this.store != null && this.store.contains(coordinate);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Failed to look up chunk " + coordinate, e);
+        }
+    }
+
+    /**
+     * Makes a chunk read in the background by getChunkAsync resident. A chunk that became resident in the
+     * meantime is kept instead, and the read is started again if a chunk was written back since it began.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the stored chunk, or null if it has to be generated
+     * @param evictions the number of chunks written back when the read began
+     * @return a future completed with the chunk at the coordinate
+     */
+    private synchronized CompletableFuture<AreaChunk> admitLoaded(ChunkCoordinate coordinate, AreaChunk chunk, long evictions)
+    {
+        if (this.resident.containsKey(coordinate))
+        {
+            return CompletableFuture.completedFuture(this.getChunk(coordinate));
+        }
+
+        if (this.evictions != evictions)
+        {
+            return this.getChunkAsync(coordinate);
+        }
+
+        this.misses++;
+        return CompletableFuture.completedFuture(this.completeLoad(coordinate, chunk));
+    }
+
+    /**
+     * Hands a chunk generated in the background over to the store, or makes it resident if there is no store.
+     * A chunk that became resident in the meantime is kept instead.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the generated chunk
+     * @return true if the chunk was kept, false if it was discarded
+     */
+    private synchronized boolean admit(ChunkCoordinate coordinate, AreaChunk chunk)
+    {
+        if (this.resident.containsKey(coordinate))
+        {
+            return false;
+        }
+
+        if (this.store != null)
+        {
+            try
+            {
+                this.store.save(coordinate, chunk);
+                return true;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("Failed to save chunk " + coordinate, e);
+            }
+        }
+
+        this.makeResident(coordinate, chunk);
+        return true;
+    }
+
+    /**
+     * Adds the chunk to the resident chunks as the most recently used one and evicts chunks over the budget.
+     * If chunks are kept off the heap, a copy of the chunk allocated from its own arena becomes resident.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the chunk
+     * @return the resident chunk
+     */
+    private AreaChunk makeResident(ChunkCoordinate coordinate, AreaChunk chunk)
+    {
+        ResidentChunk entry = new ResidentChunk(this.tick);
+        AreaChunk materialized = entry.materialize(chunk, this.offHeap);
+        this.resident.put(coordinate, entry);
+        this.residentBytes += entry.size;
+
+        if (this.journal != null)
+        {
+            this.journal.attach(coordinate, materialized);
+        }
+
+        this.evict();
+        return materialized;
+    }
+
+    /**
+     * Materializes a compressed resident chunk again and accounts for its materialized size. The instance that was
+     * compressed is taken back if it is still held somewhere, as it may have changed since, and is still attached
+     * to the journal. Otherwise the compressed form is decoded into a new instance.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param entry the compressed entry of the chunk
+     * @return the rehydrated chunk
+     */
+    private AreaChunk rehydrate(ChunkCoordinate coordinate, ResidentChunk entry)
+    {
+        final AreaChunk held = entry.getLive();
+        this.residentBytes -= entry.size;
+        AreaChunk chunk = held != null ? entry.restore(held) : entry.materialize(ChunkCodec.decompress(entry.compressed), this.offHeap);
+        this.residentBytes += entry.size;
+
+        if (held == null && this.journal != null)
+        {
+            this.journal.attach(coordinate, chunk);
+        }
+
+        this.evict();
+        return chunk;
+    }
+
+    /**
+     * Materializes a compressed chunk again after a caller that still held it changed it, as its compressed form
+     * no longer matches it. Nothing happens if the entry was materialized or evicted in the meantime.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param entry the entry the chunk was compressed in
+     * @param chunk the changed chunk
+     */
+    private synchronized void compressedChunkChanged(ChunkCoordinate coordinate, ResidentChunk entry, AreaChunk chunk)
+    {
+        if (this.resident.get(coordinate) != entry || entry.chunk != null || entry.getLive() != chunk)
+        {
+            return;
+        }
+
+        this.residentBytes -= entry.size;
+        entry.restore(chunk);
+        entry.lastAccess = this.tick;
+        this.residentBytes += entry.size;
+        this.evict();
+    }
+
+    /**
+     * Generates the layers a chunk read from the store is missing, or the whole chunk if the store did not hold
+     * it, and makes it resident.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @param chunk the stored chunk, or null if it has to be generated
+     * @return the resident chunk
+     */
+    private AreaChunk completeLoad(ChunkCoordinate coordinate, AreaChunk chunk)
+    {
+        if (chunk == null)
+        {
+            chunk = this.generateChunk(coordinate);
+        }
+        else if (!chunk.getGeneratedLayers().isEmpty())
+        {
+            // Layers added to the world after the chunk was stored are generated now, chunks stored before
+            // layers were recorded are taken as they are
+            this.pipeline.generate(chunk, this.level, this.seed.forChunk(coordinate));
+        }
+
+        return this.makeResident(coordinate, chunk);
+    }
+
+    /**
+     * Reads the chunk from the store in the background, without holding the lock of the world.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return a future completed with the stored chunk, or with null if it has to be generated
+     */
+    private CompletableFuture<AreaChunk> loadChunkAsync(ChunkCoordinate coordinate)
+    {
+        if (this.store instanceof ChunkIOService service)
+        {
+            return service.loadAsync(coordinate);
+        }
+
+        return CompletableFuture.supplyAsync(() -> this.loadChunk(coordinate));
+    }
+
+    /**
+     * Loads the chunk from the store if one is configured and holds it.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return the stored chunk, or null if it has to be generated
+     */
+    private AreaChunk loadChunk(ChunkCoordinate coordinate)
+    {
+        if (this.store == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return this.store.load(coordinate);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Failed to load chunk " + coordinate, e);
+        }
+    }
+
+    /**
+     * Evicts the least recently used chunks until the resident chunks fit the budget again.
+     * The most recently used chunk is always kept, even if it exceeds the budget on its own.
+     */
+    private void evict()
+    {
+        Iterator<Map.Entry<ChunkCoordinate, ResidentChunk>> iterator = this.resident.entrySet().iterator();
+
+        while (this.residentBytes > this.maxResidentBytes && this.resident.size() > 1)
+        {
+            Map.Entry<ChunkCoordinate, ResidentChunk> eldest = iterator.next();
+
+            if (this.store != null)
+            {
+                try
+                {
+                    this.store.save(eldest.getKey(), eldest.getValue().snapshot());
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException("Failed to save chunk " + eldest.getKey(), e);
+                }
+            }
+
+            iterator.remove();
+            this.residentBytes -= eldest.getValue().size;
+            this.evictions++;
+
+            if (this.journal != null)
+            {
+                this.journal.detach(eldest.getKey());
+            }
+
+            logger.fine(String.format("Evicted chunk %s, resident size: %s/%s", eldest.getKey(), this.residentBytes, this.maxResidentBytes));
+        }
+    }
+
+    /**
+     * Watches a compressed chunk that callers may still hold and materializes it again on its first change.
+     */
+    private final class CompressionListener implements ChunkListener
+    {
+        private final ChunkCoordinate coordinate;
+        private final ResidentChunk entry;
+
+        private CompressionListener(ChunkCoordinate coordinate, ResidentChunk entry)
+        {
+            this.coordinate = coordinate;
+            this.entry = entry;
+        }
+
+        @Override
+        public void regionAdded(AreaChunk chunk, AreaRegion region)
+        {
+            this.changed(chunk);
+        }
+
+        @Override
+        public void regionRemoved(AreaChunk chunk, AreaRegion region)
+        {
+            this.changed(chunk);
+        }
+
+        private void changed(AreaChunk chunk)
+        {
+            // The chunk is watched until its first change, later changes are covered by the materialized chunk
+            chunk.removeListener(this);
+            compressedChunkChanged(this.coordinate, this.entry, chunk);
+        }
+    }
+
+    /**
+     * Holds a resident chunk, either materialized or compressed, with its accounted size and last access.
+     * A compressed chunk keeps a weak reference to the instance it was compressed from, which callers may still
+     * hold.
+     */
+    private static final class ResidentChunk
+    {
+        private AreaChunk chunk;
+        private WeakReference<AreaChunk> live;
+        private byte[] compressed;
+        private long estimate;
+        private long size;
+        private long lastAccess;
+
+        private ResidentChunk(long lastAccess)
+        {
+            this.lastAccess = lastAccess;
+        }
+
+        /**
+         * Makes the chunk the materialized chunk of the entry, copying it into a new automatic arena if it is
+         * kept off the heap.
+         *
+         * @param chunk the chunk
+         * @param offHeap true to copy the chunk into a new arena, false to keep it as it is
+         * @return the materialized chunk of the entry
+         */
+        private AreaChunk materialize(AreaChunk chunk, boolean offHeap)
+        {
+            if (offHeap)
+            {
+                chunk = new AreaChunk(chunk, Arena.ofAuto());
+            }
+
+            return this.restore(chunk);
+        }
+
+        /**
+         * Makes the chunk, which was compressed but is still held somewhere, the materialized chunk of the entry
+         * again and discards the compressed form.
+         *
+         * @param chunk the chunk
+         * @return the materialized chunk of the entry
+         */
+        private AreaChunk restore(AreaChunk chunk)
+        {
+            this.chunk = chunk;
+            this.live = null;
+            this.compressed = null;
+            this.estimate = chunk.estimateSize();
+            this.size = this.estimate;
+            return chunk;
+        }
+
+        /**
+         * Returns the materialized chunk, or the chunk the entry was compressed from if it is still reachable.
+         *
+         * @return the chunk, or null if only the compressed form is left
+         */
+        private AreaChunk getLive()
+        {
+            if (this.chunk != null)
+            {
+                return this.chunk;
+            }
+
+            return this.live != null ? this.live.get() : null;
+        }
+
+        /**
+         * Replaces the materialized chunk with its compressed form, only keeping a weak reference to it.
+         *
+         * @throws IllegalArgumentException if the chunk holds a region the codec cannot encode
+         */
+        private void compress()
+        {
+            this.compressed = ChunkCodec.compress(this.chunk);
+            this.live = new WeakReference<>(this.chunk);
+            this.chunk = null;
+            this.size = this.compressed.length + COMPRESSED_OVERHEAD;
+        }
+
+        /**
+         * Returns the chunk in a form that can be handed to a store. Compressed chunks that are no longer held
+         * are decompressed.
+         *
+         * @return the chunk
+         */
+        private AreaChunk snapshot()
+        {
+            final AreaChunk chunk = this.getLive();
+            return chunk != null ? chunk : ChunkCodec.decompress(this.compressed);
+        }
+    }
+}
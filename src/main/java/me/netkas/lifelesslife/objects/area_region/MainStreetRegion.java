@@ -10,12 +10,14 @@ import me.netkas.lifelesslife.records.Point;
 public class MainStreetRegion extends AreaRegion
 {
     private final CardinalDirection direction;
+    private final String baseName;
     private final String name;
 
     public MainStreetRegion(Point start, Point end, CardinalDirection direction, String name)
     {
         super(new LineRegion(start, end));
         this.direction = direction;
+        this.baseName = name;
         this.name = TextUtilities.capitalizeTitle(String.format("%s street", name));
     }
 
@@ -30,6 +32,16 @@ public class MainStreetRegion extends AreaRegion
         return direction;
     }
 
+    /**
+     * Returns the name the street was created with, before the suffix and capitalization were applied.
+     *
+     * @return the base name of the street
+     */
+    public String getBaseName()
+    {
+        return baseName;
+    }
+
     public String getName()
     {
         return name;
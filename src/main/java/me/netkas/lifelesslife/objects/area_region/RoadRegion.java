@@ -10,12 +10,14 @@ import me.netkas.lifelesslife.objects.point_region.LineRegion;
 public class RoadRegion extends AreaRegion
 {
     private final CardinalDirection direction;
+    private final String baseName;
     private final String name;
 
     public RoadRegion(RegionInterface region, CardinalDirection direction, String name)
     {
         super(region);
         this.direction = direction;
+        this.baseName = name;
         this.name = TextUtilities.capitalizeTitle(String.format("%s road", name));
     }
 
@@ -31,6 +33,16 @@ public class RoadRegion extends AreaRegion
         return this.direction;
     }
 
+    /**
+     * Returns the name the road was created with, before the suffix and capitalization were applied.
+     *
+     * @return the base name of the road
+     */
+    public String getBaseName()
+    {
+        return this.baseName;
+    }
+
     @Override
     public String getName()
     {
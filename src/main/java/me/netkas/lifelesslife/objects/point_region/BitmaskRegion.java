@@ -0,0 +1,671 @@
+package me.netkas.lifelesslife.objects.point_region;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.classes.RandomGenerator;
+import me.netkas.lifelesslife.classes.RegionAlgebra;
+import me.netkas.lifelesslife.enums.Orientation;
+import me.netkas.lifelesslife.interfaces.PointConsumer;
+import me.netkas.lifelesslife.interfaces.PointPredicate;
+import me.netkas.lifelesslife.interfaces.RegionInterface;
+import me.netkas.lifelesslife.records.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class BitmaskRegion implements RegionInterface
+{
+    private final int height;
+    private final int width;
+    private final int stride;
+    private final long[] words;
+    private int size;
+    private BoundingBoxRegion bounds;
+
+    /**
+     * Represents a mask over a chunk of the given dimensions, one bit per cell stored row by row so that
+     * set operations handle 64 cells per word. The mask starts empty.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     * @throws IllegalArgumentException if the dimensions are not positive
+     */
+    public BitmaskRegion(int height, int width)
+    {
+        if (height <= 0 || width <= 0)
+        {
+            throw new IllegalArgumentException("The dimensions of the mask must be positive.");
+        }
+
+        this.height = height;
+        this.width = width;
+        this.stride = (width + Long.SIZE - 1) >>> 6;
+        this.words = new long[this.stride * height];
+        this.size = -1;
+        this.bounds = null;
+    }
+
+    /**
+     * Represents a mask over a chunk of the given dimensions covering the points of the region
+     * that lie within the chunk.
+     *
+     * @param height the height of the chunk
+     * @param width the width of the chunk
+     * @param region the region to rasterize
+     */
+    public BitmaskRegion(int height, int width, RegionInterface region)
+    {
+        this(height, width);
+        region.forEachPoint((x, y) ->
+        {
+            if (this.inBounds(x, y))
+            {
+                this.set(x, y);
+            }
+        });
+    }
+
+    /**
+     * Returns the height of the chunk covered by the mask.
+     *
+     * @return the height of the mask
+     */
+    public int getMaskHeight()
+    {
+        return this.height;
+    }
+
+    /**
+     * Returns the width of the chunk covered by the mask.
+     *
+     * @return the width of the mask
+     */
+    public int getMaskWidth()
+    {
+        return this.width;
+    }
+
+    /**
+     * Determines if the coordinates are covered by the mask.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return true if the coordinates are within the mask, false otherwise
+     */
+    public boolean inBounds(int x, int y)
+    {
+        return x >= 0 && x < this.width && y >= 0 && y < this.height;
+    }
+
+    /**
+     * Adds the cell at the given coordinates to the mask.
+     *
+     * @param x the x-coordinate, must be within bounds
+     * @param y the y-coordinate, must be within bounds
+     */
+    public void set(int x, int y)
+    {
+        this.words[y * this.stride + (x >>> 6)] |= 1L << x;
+        this.invalidate();
+    }
+
+    /**
+     * Removes the cell at the given coordinates from the mask.
+     *
+     * @param x the x-coordinate, must be within bounds
+     * @param y the y-coordinate, must be within bounds
+     */
+    public void clear(int x, int y)
+    {
+        this.words[y * this.stride + (x >>> 6)] &= ~(1L << x);
+        this.invalidate();
+    }
+
+    /**
+     * Determines if the mask covers no cells.
+     *
+     * @return true if the mask is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns the cells covered by this mask or the other mask.
+     *
+     * @param other the other mask, must have the same dimensions
+     * @return the union of both masks
+     */
+    public BitmaskRegion union(BitmaskRegion other)
+    {
+        this.requireSameDimensions(other);
+        BitmaskRegion result = new BitmaskRegion(this.height, this.width);
+
+        for (int i = 0; i < this.words.length; i++)
+        {
+            result.words[i] = this.words[i] | other.words[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the cells covered by both this mask and the other mask.
+     *
+     * @param other the other mask, must have the same dimensions
+     * @return the intersection of both masks
+     */
+    public BitmaskRegion intersection(BitmaskRegion other)
+    {
+        this.requireSameDimensions(other);
+        BitmaskRegion result = new BitmaskRegion(this.height, this.width);
+
+        for (int i = 0; i < this.words.length; i++)
+        {
+            result.words[i] = this.words[i] & other.words[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the cells covered by this mask but not by the other mask.
+     *
+     * @param other the other mask, must have the same dimensions
+     * @return the difference of both masks
+     */
+    public BitmaskRegion difference(BitmaskRegion other)
+    {
+        this.requireSameDimensions(other);
+        BitmaskRegion result = new BitmaskRegion(this.height, this.width);
+
+        for (int i = 0; i < this.words.length; i++)
+        {
+            result.words[i] = this.words[i] & ~other.words[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the cells that are within the given distance of a covered cell along the same row or column,
+     * which is the shape of the spacing rule enforced between roads.
+     *
+     * @param distance the number of cells to grow the mask by in each cardinal direction
+     * @return the dilated mask
+     */
+    public BitmaskRegion dilate(int distance)
+    {
+        return this.dilateHorizontally(distance).union(this.dilateVertically(distance));
+    }
+
+    /**
+     * Returns the cells that are within the given distance of a covered cell in both axes,
+     * growing every covered cell into a square.
+     *
+     * @param distance the number of cells to grow the mask by in each direction
+     * @return the dilated mask
+     */
+    public BitmaskRegion dilateSquare(int distance)
+    {
+        return this.dilateHorizontally(distance).dilateVertically(distance);
+    }
+
+    /**
+     * Grows every covered cell along its row, doubling the reach on each pass so that only
+     * a logarithmic number of shifts is needed.
+     *
+     * @param distance the number of cells to grow by on each side
+     * @return the dilated mask
+     */
+    private BitmaskRegion dilateHorizontally(int distance)
+    {
+        BitmaskRegion result = this.copy();
+        int reach = 0;
+
+        while (reach < distance)
+        {
+            final int step = Math.min(reach + 1, distance - reach);
+            final long[] source = result.words.clone();
+
+            for (int row = 0; row < this.height; row++)
+            {
+                final int offset = row * this.stride;
+                for (int word = 0; word < this.stride; word++)
+                {
+                    result.words[offset + word] |= shiftedWord(source, offset, word, step) | shiftedWord(source, offset, word, -step);
+                }
+            }
+
+            result.clearPadding();
+            reach += step;
+        }
+
+        return result;
+    }
+
+    /**
+     * Grows every covered cell along its column, doubling the reach on each pass.
+     *
+     * @param distance the number of cells to grow by on each side
+     * @return the dilated mask
+     */
+    private BitmaskRegion dilateVertically(int distance)
+    {
+        BitmaskRegion result = this.copy();
+        int reach = 0;
+
+        while (reach < distance)
+        {
+            final int step = Math.min(reach + 1, distance - reach);
+            final long[] source = result.words.clone();
+
+            for (int row = 0; row < this.height; row++)
+            {
+                final int offset = row * this.stride;
+                final int above = row - step;
+                final int below = row + step;
+
+                for (int word = 0; word < this.stride; word++)
+                {
+                    if (above >= 0)
+                    {
+                        result.words[offset + word] |= source[above * this.stride + word];
+                    }
+
+                    if (below < this.height)
+                    {
+                        result.words[offset + word] |= source[below * this.stride + word];
+                    }
+                }
+            }
+
+            reach += step;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a word of a row shifted towards higher x-coordinates by the given number of cells,
+     * or towards lower x-coordinates if the shift is negative. Bits do not cross into other rows.
+     *
+     * @param source the words to shift
+     * @param offset the index of the first word of the row
+     * @param word the index of the word within the row
+     * @param shift the number of cells to shift by
+     * @return the shifted word
+     */
+    private long shiftedWord(long[] source, int offset, int word, int shift)
+    {
+        final int wordShift = Math.abs(shift) >>> 6;
+        final int bitShift = Math.abs(shift) & 63;
+
+        if (shift > 0)
+        {
+            final int from = word - wordShift;
+            final long current = from >= 0 ? source[offset + from] : 0L;
+            final long previous = from - 1 >= 0 ? source[offset + from - 1] : 0L;
+
+            return bitShift == 0 ? current : (current << bitShift) | (previous >>> (Long.SIZE - bitShift));
+        }
+
+        final int from = word + wordShift;
+        final long current = from < this.stride ? source[offset + from] : 0L;
+        final long next = from + 1 < this.stride ? source[offset + from + 1] : 0L;
+
+        return bitShift == 0 ? current : (current >>> bitShift) | (next << (Long.SIZE - bitShift));
+    }
+
+    /**
+     * Clears the bits of the last word of each row that lie beyond the width of the mask.
+     */
+    private void clearPadding()
+    {
+        final int used = this.width & 63;
+        if (used == 0)
+        {
+            return;
+        }
+
+        final long mask = (1L << used) - 1;
+        for (int row = 0; row < this.height; row++)
+        {
+            this.words[row * this.stride + this.stride - 1] &= mask;
+        }
+    }
+
+    /**
+     * Discards the cached size and bounds after a cell was added or removed.
+     */
+    private void invalidate()
+    {
+        this.size = -1;
+        this.bounds = null;
+    }
+
+    private BitmaskRegion copy()
+    {
+        BitmaskRegion result = new BitmaskRegion(this.height, this.width);
+        System.arraycopy(this.words, 0, result.words, 0, this.words.length);
+        return result;
+    }
+
+    private void requireSameDimensions(BitmaskRegion other)
+    {
+        if (this.height != other.height || this.width != other.width)
+        {
+            throw new IllegalArgumentException("Both masks must have the same dimensions.");
+        }
+    }
+
+    /**
+     * Determines if the region defined by the mask is a line.
+     *
+     * @return true if the region is a line, false otherwise
+     */
+    @Override
+    public boolean isLine()
+    {
+        return !this.isEmpty() && (this.getWidth() == 0 || this.getHeight() == 0);
+    }
+
+    /**
+     * Returns the orientation of the region.
+     *
+     * @return the orientation of the region
+     * @throws IllegalStateException if the region is not a line
+     */
+    @Override
+    public Orientation getOrientation()
+    {
+        if (!this.isLine())
+        {
+            throw new IllegalStateException("The region must be a line to determine its orientation.");
+        }
+
+        return this.getWidth() == 0 ? Orientation.VERTICAL : Orientation.HORIZONTAL;
+    }
+
+    /**
+     * Returns the height of the covered cells.
+     *
+     * @return the height of the region
+     */
+    @Override
+    public int getHeight()
+    {
+        return this.isEmpty() ? 0 : this.getBounds().getHeight();
+    }
+
+    /**
+     * Returns the width of the covered cells.
+     *
+     * @return the width of the region
+     */
+    @Override
+    public int getWidth()
+    {
+        return this.isEmpty() ? 0 : this.getBounds().getWidth();
+    }
+
+    /**
+     * Returns the bounding box of the covered cells.
+     *
+     * @return the bounding box of the region
+     * @throws IllegalStateException if the mask is empty
+     */
+    @Override
+    public BoundingBoxRegion getBounds()
+    {
+        if (this.bounds != null)
+        {
+            return this.bounds;
+        }
+
+        int minX = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+
+        for (int row = 0; row < this.height; row++)
+        {
+            for (int word = 0; word < this.stride; word++)
+            {
+                final long bits = this.words[row * this.stride + word];
+                if (bits != 0)
+                {
+                    minX = Math.min(minX, (word << 6) + Long.numberOfTrailingZeros(bits));
+                    maxX = Math.max(maxX, (word << 6) + Long.SIZE - 1 - Long.numberOfLeadingZeros(bits));
+                    minY = Math.min(minY, row);
+                    maxY = row;
+                }
+            }
+        }
+
+        if (minY == Integer.MAX_VALUE)
+        {
+            throw new IllegalStateException("An empty region has no bounds.");
+        }
+
+        this.bounds = new BoundingBoxRegion(new Point(minX, minY), new Point(maxX, maxY));
+        return this.bounds;
+    }
+
+    /**
+     * Returns the covered cells ordered by their y-coordinate and x-coordinate.
+     *
+     * @return a list of the covered cells
+     */
+    @Override
+    public List<Point> getPoints()
+    {
+        List<Point> points = new ArrayList<>();
+        this.forEachPoint((x, y) -> points.add(new Point(x, y)));
+        return points;
+    }
+
+    /**
+     * Returns the covered cells ordered by their y-coordinate and x-coordinate in case of tie,
+     * which is the order the mask is stored in.
+     *
+     * @return a list of points ordered by their y-coordinate and x-coordinate
+     */
+    @Override
+    public List<Point> getPointsOrdered()
+    {
+        return this.getPoints();
+    }
+
+    /**
+     * Visits every covered cell row by row, skipping empty words.
+     *
+     * @param consumer the consumer receiving the coordinates of each cell
+     */
+    @Override
+    public void forEachPoint(PointConsumer consumer)
+    {
+        this.anyPoint((x, y) ->
+        {
+            consumer.accept(x, y);
+            return false;
+        });
+    }
+
+    /**
+     * Visits the covered cells row by row until the predicate matches one of them.
+     *
+     * @param predicate the predicate evaluated on the coordinates of each cell
+     * @return true if the predicate matched a cell, false otherwise
+     */
+    @Override
+    public boolean anyPoint(PointPredicate predicate)
+    {
+        for (int row = 0; row < this.height; row++)
+        {
+            for (int word = 0; word < this.stride; word++)
+            {
+                long bits = this.words[row * this.stride + word];
+                while (bits != 0)
+                {
+                    if (predicate.test((word << 6) + Long.numberOfTrailingZeros(bits), row))
+                    {
+                        return true;
+                    }
+
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Visits the covered cells ordered by their y-coordinate and x-coordinate in case of tie,
+     * which is the same order as anyPoint.
+     *
+     * @param predicate the predicate evaluated on the coordinates of each cell
+     * @return true if the predicate matched a cell, false otherwise
+     */
+    @Override
+    public boolean anyPointOrdered(PointPredicate predicate)
+    {
+        return this.anyPoint(predicate);
+    }
+
+    /**
+     * Determines if the mask covers the specified point.
+     *
+     * @param point the Point object to check
+     * @return true if the mask covers the point, false otherwise
+     */
+    @Override
+    public boolean contains(Point point)
+    {
+        return this.contains(point.x(), point.y());
+    }
+
+    /**
+     * Determines if the mask covers the cell at the specified coordinates.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @return true if the mask covers the cell, false otherwise
+     */
+    @Override
+    public boolean contains(int x, int y)
+    {
+        return this.inBounds(x, y) && (this.words[y * this.stride + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified region.
+     *
+     * @param region the RegionInterface object to check
+     * @return true if the regions overlap, false otherwise
+     */
+    @Override
+    public boolean contains(RegionInterface region)
+    {
+        if (region instanceof BitmaskRegion other && this.height == other.height && this.width == other.width)
+        {
+            for (int i = 0; i < this.words.length; i++)
+            {
+                if ((this.words[i] & other.words[i]) != 0)
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        return !this.isEmpty() && RegionAlgebra.intersects(this, region);
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified area region.
+     *
+     * @param areaRegion the AreaRegion object to check
+     * @return true if the regions overlap, false otherwise
+     */
+    @Override
+    public boolean contains(AreaRegion areaRegion)
+    {
+        return this.contains(areaRegion.getRegion());
+    }
+
+    /**
+     * Returns a random covered cell, every cell being equally likely.
+     *
+     * @param random the Random object used to pick the cell
+     * @return a random covered cell
+     * @throws IllegalStateException if the mask is empty
+     */
+    @Override
+    public Point getRandom(Random random)
+    {
+        final int size = this.size();
+        if (size == 0)
+        {
+            throw new IllegalStateException("Cannot pick a random point from an empty region.");
+        }
+
+        int remaining = random.nextInt(size);
+        for (int i = 0; i < this.words.length; i++)
+        {
+            long bits = this.words[i];
+            final int count = Long.bitCount(bits);
+
+            if (remaining >= count)
+            {
+                remaining -= count;
+                continue;
+            }
+
+            for (; remaining > 0; remaining--)
+            {
+                bits &= bits - 1;
+            }
+
+            return new Point(((i % this.stride) << 6) + Long.numberOfTrailingZeros(bits), i / this.stride);
+        }
+
+        throw new IllegalStateException("Unexpected end of mask.");
+    }
+
+    /**
+     * Returns a random covered cell.
+     *
+     * @return a random covered cell
+     */
+    @Override
+    public Point getRandom()
+    {
+        return this.getRandom(RandomGenerator.getInstance());
+    }
+
+    /**
+     * Returns the number of covered cells, counted once and cached until a cell is added or removed.
+     *
+     * @return the size of the region
+     */
+    @Override
+    public int size()
+    {
+        if (this.size < 0)
+        {
+            int size = 0;
+            for (long word : this.words)
+            {
+                size += Long.bitCount(word);
+            }
+
+            this.size = size;
+        }
+
+        return this.size;
+    }
+}
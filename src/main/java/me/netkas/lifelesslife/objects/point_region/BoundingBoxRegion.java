@@ -2,7 +2,10 @@ package me.netkas.lifelesslife.objects.point_region;
 
 
 import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.classes.RegionAlgebra;
 import me.netkas.lifelesslife.enums.Orientation;
+import me.netkas.lifelesslife.interfaces.PointConsumer;
+import me.netkas.lifelesslife.interfaces.PointPredicate;
 import me.netkas.lifelesslife.interfaces.RegionInterface;
 import me.netkas.lifelesslife.records.Point;
 
@@ -77,6 +80,17 @@ public record BoundingBoxRegion(Point topLeft, Point bottomRight) implements Reg
         return this.bottomRight.x() - this.topLeft.x();
     }
 
+    /**
+     * Returns the bounding box of the region, which is the region itself.
+     *
+     * @return the bounding box of the region
+     */
+    @Override
+    public BoundingBoxRegion getBounds()
+    {
+        return this;
+    }
+
     /**
      * Retrieves a list of points that form a rectangular region defined by the top-left and bottom-right points.
      *
@@ -112,55 +126,149 @@ public record BoundingBoxRegion(Point topLeft, Point bottomRight) implements Reg
     }
 
     /**
-     * Determines if the region contains the specified point.
+     * Visits every point within the region, column by column in the same order as getPoints.
      *
-     * @param point the Point object to check
-     * @return true if the region contains the point, false otherwise
+     * @param consumer the consumer receiving the coordinates of each point
      */
     @Override
-    public boolean contains(Point point)
+    public void forEachPoint(PointConsumer consumer)
     {
-        return point.x() >= this.topLeft.x() && point.x() <= this.bottomRight.x() &&
-                point.y() >= this.topLeft.y() && point.y() <= this.bottomRight.y();
+        for (int x = this.topLeft.x(); x <= this.bottomRight.x(); x++)
+        {
+            for (int y = this.topLeft.y(); y <= this.bottomRight.y(); y++)
+            {
+                consumer.accept(x, y);
+            }
+        }
     }
 
     /**
-     * Determines if the region contains the specified region.
+     * Visits the points within the region, column by column, until the predicate matches one of them.
      *
-     * @param region the RegionInterface object to check
-     * @return true if the region contains the specified region, false otherwise
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
      */
     @Override
-    public boolean contains(RegionInterface region)
+    public boolean anyPoint(PointPredicate predicate)
+    {
+        for (int x = this.topLeft.x(); x <= this.bottomRight.x(); x++)
+        {
+            for (int y = this.topLeft.y(); y <= this.bottomRight.y(); y++)
+            {
+                if (predicate.test(x, y))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Visits the points within the region, row by row, until the predicate matches one of them.
+     *
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    @Override
+    public boolean anyPointOrdered(PointPredicate predicate)
+    {
+        for (int y = this.topLeft.y(); y <= this.bottomRight.y(); y++)
+        {
+            for (int x = this.topLeft.x(); x <= this.bottomRight.x(); x++)
+            {
+                if (predicate.test(x, y))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Visits the points of the box row by row, beginning at the given point and continuing to the end of its
+     * row before moving on to the next rows. Nothing is visited if the given point is not part of the box.
+     *
+     * @param startFrom the point to start from, or null to start from the top left corner
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    @Override
+    public boolean anyPointFrom(Point startFrom, PointPredicate predicate)
     {
-        if (region instanceof BoundingBoxRegion other)
+        if (startFrom == null)
         {
-            return !(other.topLeft.x() > this.bottomRight.x() || other.bottomRight.x() < this.topLeft.x() ||
-                    other.topLeft.y() > this.bottomRight.y() || other.bottomRight.y() < this.topLeft.y());
+            return this.anyPointOrdered(predicate);
         }
-        else if (region instanceof LineRegion other)
+
+        if (!this.contains(startFrom))
         {
-            return this.contains(other.start()) || this.contains(other.end());
+            return false;
         }
-        else if (region instanceof PointRegion)
+
+        int x = startFrom.x();
+        for (int y = startFrom.y(); y <= this.bottomRight.y(); y++)
         {
-            for (Point point : region.getPoints())
+            for (; x <= this.bottomRight.x(); x++)
             {
-                if (this.contains(point))
+                if (predicate.test(x, y))
                 {
                     return true;
                 }
             }
+
+            x = this.topLeft.x();
         }
 
         return false;
     }
 
     /**
-     * Determines if the region contains the specified area region.
+     * Determines if the region contains the specified point.
+     *
+     * @param point the Point object to check
+     * @return true if the region contains the point, false otherwise
+     */
+    @Override
+    public boolean contains(Point point)
+    {
+        return this.contains(point.x(), point.y());
+    }
+
+    /**
+     * Determines if the region contains the point at the specified coordinates.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return true if the region contains the point, false otherwise
+     */
+    @Override
+    public boolean contains(int x, int y)
+    {
+        return x >= this.topLeft.x() && x <= this.bottomRight.x() &&
+                y >= this.topLeft.y() && y <= this.bottomRight.y();
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified region.
+     *
+     * @param region the RegionInterface object to check
+     * @return true if the regions overlap, false otherwise
+     */
+    @Override
+    public boolean contains(RegionInterface region)
+    {
+        return RegionAlgebra.intersects(this, region);
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified area region.
      *
      * @param areaRegion the AreaRegion object to check
-     * @return true if the region contains the specified area region, false otherwise
+     * @return true if the regions overlap, false otherwise
      */
     @Override
     public boolean contains(AreaRegion areaRegion)
@@ -1,7 +1,10 @@
 package me.netkas.lifelesslife.objects.point_region;
 
 import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.classes.RegionAlgebra;
 import me.netkas.lifelesslife.enums.Orientation;
+import me.netkas.lifelesslife.interfaces.PointConsumer;
+import me.netkas.lifelesslife.interfaces.PointPredicate;
 import me.netkas.lifelesslife.interfaces.RegionInterface;
 import me.netkas.lifelesslife.records.Point;
 
@@ -67,6 +70,20 @@ public record LineRegion(Point start, Point end) implements RegionInterface
         return this.getOrientation() == Orientation.HORIZONTAL ? Math.abs(this.start.x() - this.end.x()) : 0;
     }
 
+    /**
+     * Returns the bounding box of the line, spanning from its lowest to its highest coordinate.
+     *
+     * @return the bounding box of the line
+     */
+    @Override
+    public BoundingBoxRegion getBounds()
+    {
+        return new BoundingBoxRegion(
+                new Point(Math.min(this.start.x(), this.end.x()), Math.min(this.start.y(), this.end.y())),
+                new Point(Math.max(this.start.x(), this.end.x()), Math.max(this.start.y(), this.end.y()))
+        );
+    }
+
     /**
      * Returns a list of connected points that define a region.
      *
@@ -122,6 +139,12 @@ public record LineRegion(Point start, Point end) implements RegionInterface
         return points;
     }
 
+    /**
+     * Returns the points of the line walking from its start towards its end, beginning at the given point.
+     *
+     * @param startFrom the point to start from, or null to return every point ordered
+     * @return the points from the given point to the end of the line, empty if the point is not on the line
+     */
     public List<Point> getPointsOrdered(Point startFrom)
     {
         if (startFrom == null) {
@@ -129,116 +152,118 @@ public record LineRegion(Point start, Point end) implements RegionInterface
         }
 
         List<Point> points = new ArrayList<>();
-        boolean found = false;
+        this.anyPointFrom(startFrom, (x, y) -> !points.add(new Point(x, y)));
+        return points;
+    }
 
+    /**
+     * Visits every point of the line from the lowest to the highest coordinate.
+     *
+     * @param consumer the consumer receiving the coordinates of each point
+     */
+    @Override
+    public void forEachPoint(PointConsumer consumer)
+    {
         if (this.getOrientation() == Orientation.VERTICAL)
         {
-            int yStart = this.start.y();
-            int yEnd = this.end.y();
-
-            // Check the direction of traversal (bottom-to-top or top-to-bottom)
-            if (yStart > yEnd) {
-                for (int y = yStart; y >= yEnd; y--) {
-                    Point point = new Point(this.start.x(), y);
-                    if (found || point.equals(startFrom)) {
-                        points.add(point);
-                        found = true;
-                    }
-                }
-            } else {
-                for (int y = yStart; y <= yEnd; y++) {
-                    Point point = new Point(this.start.x(), y);
-                    if (found || point.equals(startFrom)) {
-                        points.add(point);
-                        found = true;
-                    }
-                }
+            for (int y = Math.min(this.start.y(), this.end.y()); y <= Math.max(this.start.y(), this.end.y()); y++)
+            {
+                consumer.accept(this.start.x(), y);
             }
         }
         else
         {
-            int xStart = this.start.x();
-            int xEnd = this.end.x();
-
-            // Check the direction of traversal (right-to-left or left-to-right)
-            if (xStart > xEnd) {
-                for (int x = xStart; x >= xEnd; x--) {
-                    Point point = new Point(x, this.start.y());
-                    if (found || point.equals(startFrom)) {
-                        points.add(point);
-                        found = true;
-                    }
-                }
-            } else {
-                for (int x = xStart; x <= xEnd; x++) {
-                    Point point = new Point(x, this.start.y());
-                    if (found || point.equals(startFrom)) {
-                        points.add(point);
-                        found = true;
-                    }
-                }
+            for (int x = Math.min(this.start.x(), this.end.x()); x <= Math.max(this.start.x(), this.end.x()); x++)
+            {
+                consumer.accept(x, this.start.y());
             }
         }
-
-        return points;
     }
-    
+
     /**
-     * Checks if the given point is contained within the region.
+     * Visits the points of the line from the lowest to the highest coordinate until the predicate matches one.
      *
-     * @param point the point to check
-     * @return true if the point is contained within the region, false otherwise
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
      */
     @Override
-    public boolean contains(Point point)
+    public boolean anyPoint(PointPredicate predicate)
     {
-        if (getOrientation() == Orientation.VERTICAL)
+        if (this.getOrientation() == Orientation.VERTICAL)
         {
-            return point.x() == start.x() && point.y() >= Math.min(start.y(), end.y()) && point.y() <= Math.max(start.y(), end.y());
+            for (int y = Math.min(this.start.y(), this.end.y()); y <= Math.max(this.start.y(), this.end.y()); y++)
+            {
+                if (predicate.test(this.start.x(), y))
+                {
+                    return true;
+                }
+            }
         }
-        else // HORIZONTAL
+        else
         {
-            return point.y() == start.y() && point.x() >= Math.min(start.x(), end.x()) && point.x() <= Math.max(start.x(), end.x());
+            for (int x = Math.min(this.start.x(), this.end.x()); x <= Math.max(this.start.x(), this.end.x()); x++)
+            {
+                if (predicate.test(x, this.start.y()))
+                {
+                    return true;
+                }
+            }
         }
+
+        return false;
     }
 
     /**
-     * Determines if the LineRegion contains the specified region.
+     * Visits the points of the line ordered by their y-coordinate and x-coordinate until the predicate matches one,
+     * for a line this is the same order as anyPoint.
      *
-     * @param region the RegionInterface object to check
-     * @return true if the LineRegion contains the specified region, false otherwise
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
      */
     @Override
-    public boolean contains(RegionInterface region)
+    public boolean anyPointOrdered(PointPredicate predicate)
     {
-        if (region instanceof BoundingBoxRegion other)
+        return this.anyPoint(predicate);
+    }
+
+    /**
+     * Walks the line from its start towards its end, beginning at the given point, until the predicate matches.
+     * Nothing is visited if the given point is not on the line.
+     *
+     * @param startFrom the point to start from, or null to start from the start of the line
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    @Override
+    public boolean anyPointFrom(Point startFrom, PointPredicate predicate)
+    {
+        if (startFrom == null)
         {
-            return this.contains(other.topLeft()) || this.contains(other.bottomRight());
+            startFrom = this.start;
         }
-        else if (region instanceof LineRegion other)
+
+        if (!this.contains(startFrom))
+        {
+            return false;
+        }
+
+        if (this.getOrientation() == Orientation.VERTICAL)
         {
-            // Check if the lines are aligned and overlap
-            if (this.getOrientation() == other.getOrientation())
+            final int step = this.start.y() > this.end.y() ? -1 : 1;
+            for (int y = startFrom.y(); y != this.end.y() + step; y += step)
             {
-                if (this.getOrientation() == Orientation.VERTICAL && this.start.x() == other.start.x())
-                {
-                    return !(other.start.y() > this.end.y() || other.end.y() < this.start.y());
-                }
-                else if (this.getOrientation() == Orientation.HORIZONTAL && this.start.y() == other.start.y())
+                if (predicate.test(this.start.x(), y))
                 {
-                    return !(other.start.x() > this.end.x() || other.end.x() < this.start.x());
+                    return true;
                 }
             }
-            else
-            {
-                return this.contains(other.start()) || this.contains(other.end());
-            }
         }
-        else if (region instanceof PointRegion)
+        else
         {
-            for (Point point : region.getPoints())
+            final int step = this.start.x() > this.end.x() ? -1 : 1;
+            for (int x = startFrom.x(); x != this.end.x() + step; x += step)
             {
-                if (this.contains(point))
+                if (predicate.test(x, this.start.y()))
                 {
                     return true;
                 }
@@ -249,10 +274,54 @@ public record LineRegion(Point start, Point end) implements RegionInterface
     }
 
     /**
-     * Determines if the region contains the specified area region.
+     * Checks if the given point is contained within the region.
+     *
+     * @param point the point to check
+     * @return true if the point is contained within the region, false otherwise
+     */
+    @Override
+    public boolean contains(Point point)
+    {
+        return this.contains(point.x(), point.y());
+    }
+
+    /**
+     * Checks if the point at the given coordinates is contained within the region.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return true if the point is contained within the region, false otherwise
+     */
+    @Override
+    public boolean contains(int x, int y)
+    {
+        if (getOrientation() == Orientation.VERTICAL)
+        {
+            return x == start.x() && y >= Math.min(start.y(), end.y()) && y <= Math.max(start.y(), end.y());
+        }
+        else // HORIZONTAL
+        {
+            return y == start.y() && x >= Math.min(start.x(), end.x()) && x <= Math.max(start.x(), end.x());
+        }
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified region.
+     *
+     * @param region the RegionInterface object to check
+     * @return true if the regions overlap, false otherwise
+     */
+    @Override
+    public boolean contains(RegionInterface region)
+    {
+        return RegionAlgebra.intersects(this, region);
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified area region.
      *
      * @param areaRegion the AreaRegion object to check
-     * @return true if the region contains the specified area region, false otherwise
+     * @return true if the regions overlap, false otherwise
      */
     @Override
     public boolean contains(AreaRegion areaRegion)
@@ -2,7 +2,10 @@ package me.netkas.lifelesslife.objects.point_region;
 
 import me.netkas.lifelesslife.abstracts.AreaRegion;
 import me.netkas.lifelesslife.classes.RandomGenerator;
+import me.netkas.lifelesslife.classes.RegionAlgebra;
 import me.netkas.lifelesslife.enums.Orientation;
+import me.netkas.lifelesslife.interfaces.PointConsumer;
+import me.netkas.lifelesslife.interfaces.PointPredicate;
 import me.netkas.lifelesslife.interfaces.RegionInterface;
 import me.netkas.lifelesslife.records.Point;
 
@@ -10,29 +13,60 @@ import java.util.*;
 
 public final class PointRegion implements RegionInterface
 {
-    private final List<Integer> xCoords;
-    private final List<Integer> yCoords;
+    private static final int[] NEIGHBOR_X = {1, -1, 0, 0};
+    private static final int[] NEIGHBOR_Y = {0, 0, 1, -1};
+
+    private final int[] xCoords;
+    private final int[] yCoords;
+    private final int[] lookup;
+    private final int minX;
+    private final int maxX;
+    private final int minY;
+    private final int maxY;
+    private volatile long[] orderedKeys;
 
     /**
      * Represents a region defined by a list of connected points in a 2D coordinate system.
      */
     public PointRegion(List<Point> points)
+    {
+        this(points, true);
+    }
+
+    /**
+     * Represents a region defined by a list of points in a 2D coordinate system.
+     * Generators that build their points by walking from one cell to an adjacent one already guarantee
+     * connectivity and may skip its validation, the points are still required to be unique.
+     *
+     * @param points the points of the region
+     * @param validateConnectivity true to verify that the points are connected, false to trust the caller
+     */
+    public PointRegion(List<Point> points, boolean validateConnectivity)
     {
         if (points.isEmpty())
         {
             throw new IllegalArgumentException("The list of points must not be empty.");
         }
 
-        xCoords = new ArrayList<>(points.size());
-        yCoords = new ArrayList<>(points.size());
+        xCoords = new int[points.size()];
+        yCoords = new int[points.size()];
 
-        for (Point point : points)
+        for (int i = 0; i < points.size(); i++)
         {
-            xCoords.add(point.x());
-            yCoords.add(point.y());
+            xCoords[i] = points.get(i).x();
+            yCoords[i] = points.get(i).y();
         }
 
-        validatePoints(points);
+        lookup = buildLookup(xCoords, yCoords);
+        minX = Arrays.stream(xCoords).min().getAsInt();
+        maxX = Arrays.stream(xCoords).max().getAsInt();
+        minY = Arrays.stream(yCoords).min().getAsInt();
+        maxY = Arrays.stream(yCoords).max().getAsInt();
+
+        if (validateConnectivity)
+        {
+            validatePoints();
+        }
     }
 
     /**
@@ -50,90 +84,136 @@ public final class PointRegion implements RegionInterface
             throw new IllegalArgumentException("The lists of x and y coordinates must have the same size.");
         }
 
-        this.xCoords = new ArrayList<>(xCoords);
-        this.yCoords = new ArrayList<>(yCoords);
+        this.xCoords = xCoords.stream().mapToInt(Integer::intValue).toArray();
+        this.yCoords = yCoords.stream().mapToInt(Integer::intValue).toArray();
 
-        List<Point> points = new ArrayList<>(xCoords.size());
-        for (int i = 0; i < xCoords.size(); i++)
-        {
-            points.add(new Point(xCoords.get(i), yCoords.get(i)));
-        }
+        lookup = buildLookup(this.xCoords, this.yCoords);
+        minX = Arrays.stream(this.xCoords).min().getAsInt();
+        maxX = Arrays.stream(this.xCoords).max().getAsInt();
+        minY = Arrays.stream(this.yCoords).min().getAsInt();
+        maxY = Arrays.stream(this.yCoords).max().getAsInt();
 
-        validatePoints(points);
+        validatePoints();
     }
 
     /**
-     * Validates a list of points that define a region.
+     * Builds an open addressing hash table over the coordinates, each slot holds the index of a point plus one
+     * so that zero marks an empty slot.
      *
-     * @param points the list of points to validate
-     * @throws IllegalArgumentException if the points are not valid
+     * @param xCoords the x-coordinates of the points
+     * @param yCoords the y-coordinates of the points
+     * @return the hash table used to look up points
+     * @throws IllegalArgumentException if the points are not unique
      */
-    private void validatePoints(List<Point> points)
+    private static int[] buildLookup(int[] xCoords, int[] yCoords)
     {
-        if (points.size() > 1)
-        {
-            // Use a set to store visited points for uniqueness check
-            Set<Point> uniquePoints = new HashSet<>(points.size());
-
-            // Normalize the points relative to the first point
-            Point firstPoint = points.getFirst();
-            List<Point> normalizedPoints = points.stream()
-                    .map(p -> new Point(p.x() - firstPoint.x(), p.y() - firstPoint.y()))
-                    .toList();
+        final int[] table = new int[Integer.highestOneBit(Math.max(xCoords.length, 1) * 2) << 1];
+        final int mask = table.length - 1;
 
-            // Check for duplicates
-            for (Point p : normalizedPoints)
+        for (int i = 0; i < xCoords.length; i++)
+        {
+            int slot = hash(xCoords[i], yCoords[i]) & mask;
+            while (table[slot] != 0)
             {
-                if (!uniquePoints.add(p))
+                final int other = table[slot] - 1;
+                if (xCoords[other] == xCoords[i] && yCoords[other] == yCoords[i])
                 {
                     throw new IllegalArgumentException("All points must be unique.");
                 }
+
+                slot = (slot + 1) & mask;
             }
 
-            // Use a boolean array for visited check
-            boolean[] visited = new boolean[normalizedPoints.size()];
-            Deque<Integer> stack = new ArrayDeque<>();
-            stack.push(0);
+            table[slot] = i + 1;
+        }
 
-            while (!stack.isEmpty())
-            {
-                int current = stack.pop();
-                if (!visited[current])
-                {
-                    visited[current] = true;
-                    Point currentPoint = normalizedPoints.get(current);
+        return table;
+    }
 
-                    // Check all other points for adjacency
-                    for (int i = 0; i < normalizedPoints.size(); i++)
-                    {
-                        if (!visited[i] && isAdjacent(currentPoint, normalizedPoints.get(i)))
-                        {
-                            stack.push(i);
-                        }
-                    }
-                }
-            }
+    /**
+     * Hashes a pair of coordinates for the lookup table.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the hash of the coordinates
+     */
+    private static int hash(int x, int y)
+    {
+        final int h = x * 0x9E3779B1 + y * 0x85EBCA6B;
+        return h ^ (h >>> 16);
+    }
 
-            for (boolean isVisited : visited)
+    /**
+     * Finds the index of the point with the given coordinates.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the index of the point, or -1 if the region does not contain it
+     */
+    private int indexOf(int x, int y)
+    {
+        if (x < minX || x > maxX || y < minY || y > maxY)
+        {
+            return -1;
+        }
+
+        final int mask = lookup.length - 1;
+        int slot = hash(x, y) & mask;
+
+        while (lookup[slot] != 0)
+        {
+            final int index = lookup[slot] - 1;
+            if (xCoords[index] == x && yCoords[index] == y)
             {
-                if (!isVisited)
-                {
-                    throw new IllegalArgumentException("All points must be connected to each other.");
-                }
+                return index;
             }
+
+            slot = (slot + 1) & mask;
         }
+
+        return -1;
     }
 
     /**
-     * Checks whether two points are adjacent in a 2D coordinate system.
+     * Validates that the points define a single connected region using a breadth-first search over the lookup
+     * table, so every point is visited once and each neighbour check is a constant-time lookup.
      *
-     * @param p1 the first Point object
-     * @param p2 the second Point object
-     * @return {@code true} if the points are adjacent, {@code false} otherwise
+     * @throws IllegalArgumentException if the points are not connected
      */
-    private boolean isAdjacent(Point p1, Point p2)
+    private void validatePoints()
     {
-        return Math.abs(p1.x() - p2.x()) + Math.abs(p1.y() - p2.y()) == 1;
+        if (xCoords.length > 1)
+        {
+            boolean[] visited = new boolean[xCoords.length];
+            int[] queue = new int[xCoords.length];
+            int head = 0;
+            int tail = 0;
+
+            visited[0] = true;
+            queue[tail++] = 0;
+
+            while (head < tail)
+            {
+                final int current = queue[head++];
+                final int x = xCoords[current];
+                final int y = yCoords[current];
+
+                for (int direction = 0; direction < NEIGHBOR_X.length; direction++)
+                {
+                    final int neighbor = indexOf(x + NEIGHBOR_X[direction], y + NEIGHBOR_Y[direction]);
+                    if (neighbor >= 0 && !visited[neighbor])
+                    {
+                        visited[neighbor] = true;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+
+            if (tail != xCoords.length)
+            {
+                throw new IllegalArgumentException("All points must be connected to each other.");
+            }
+        }
     }
 
     /**
@@ -144,7 +224,7 @@ public final class PointRegion implements RegionInterface
     @Override
     public boolean isLine()
     {
-        return xCoords.stream().distinct().count() == 1 || yCoords.stream().distinct().count() == 1;
+        return minX == maxX || minY == maxY;
     }
 
     /**
@@ -161,7 +241,7 @@ public final class PointRegion implements RegionInterface
             throw new IllegalStateException("The region must be a line to determine its orientation.");
         }
 
-        return xCoords.get(0).equals(xCoords.get(1)) ? Orientation.VERTICAL : Orientation.HORIZONTAL;
+        return minX == maxX ? Orientation.VERTICAL : Orientation.HORIZONTAL;
     }
 
     /**
@@ -172,7 +252,7 @@ public final class PointRegion implements RegionInterface
     @Override
     public int getHeight()
     {
-        return Collections.max(yCoords) - Collections.min(yCoords);
+        return maxY - minY;
     }
 
     /**
@@ -183,7 +263,18 @@ public final class PointRegion implements RegionInterface
     @Override
     public int getWidth()
     {
-        return Collections.max(xCoords) - Collections.min(xCoords);
+        return maxX - minX;
+    }
+
+    /**
+     * Returns the bounding box of the region from the bounds cached at construction.
+     *
+     * @return the bounding box of the region
+     */
+    @Override
+    public BoundingBoxRegion getBounds()
+    {
+        return new BoundingBoxRegion(new Point(minX, minY), new Point(maxX, maxY));
     }
 
     /**
@@ -194,10 +285,10 @@ public final class PointRegion implements RegionInterface
     @Override
     public List<Point> getPoints()
     {
-        List<Point> points = new ArrayList<>(xCoords.size());
-        for (int i = 0; i < xCoords.size(); i++)
+        List<Point> points = new ArrayList<>(xCoords.length);
+        for (int i = 0; i < xCoords.length; i++)
         {
-            points.add(new Point(xCoords.get(i), yCoords.get(i)));
+            points.add(new Point(xCoords[i], yCoords[i]));
         }
         return points;
     }
@@ -210,23 +301,37 @@ public final class PointRegion implements RegionInterface
     @Override
     public List<Point> getPointsOrdered()
     {
-        List<Point> points = getPoints();
-        points.sort((p1, p2) -> p1.y() == p2.y() ? Integer.compare(p1.x(), p2.x()) : Integer.compare(p1.y(), p2.y()));
+        List<Point> points = new ArrayList<>(xCoords.length);
+        anyPointOrdered((x, y) -> !points.add(new Point(x, y)));
         return points;
     }
 
     /**
-     * Determines if the region contains the specified point.
+     * Visits every point of the region in the order they were given.
      *
-     * @param point the Point object to check
-     * @return true if the region contains the point, false otherwise
+     * @param consumer the consumer receiving the coordinates of each point
      */
     @Override
-    public boolean contains(Point point)
+    public void forEachPoint(PointConsumer consumer)
+    {
+        for (int i = 0; i < xCoords.length; i++)
+        {
+            consumer.accept(xCoords[i], yCoords[i]);
+        }
+    }
+
+    /**
+     * Visits the points of the region in the order they were given until the predicate matches one of them.
+     *
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    @Override
+    public boolean anyPoint(PointPredicate predicate)
     {
-        for (int i = 0; i < xCoords.size(); i++)
+        for (int i = 0; i < xCoords.length; i++)
         {
-            if (xCoords.get(i).equals(point.x()) && yCoords.get(i).equals(point.y()))
+            if (predicate.test(xCoords[i], yCoords[i]))
             {
                 return true;
             }
@@ -236,42 +341,126 @@ public final class PointRegion implements RegionInterface
     }
 
     /**
-     * Determines if the region contains the specified region.
+     * Visits the points of the region ordered by their y-coordinate and x-coordinate in case of tie,
+     * until the predicate matches one of them. The order is computed once and cached.
      *
-     * @param region the RegionInterface object to check
-     * @return true if the region contains the specified region, false otherwise
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
      */
     @Override
-    public boolean contains(RegionInterface region)
+    public boolean anyPointOrdered(PointPredicate predicate)
     {
-        Set<Point> pointSet = new HashSet<>(this.getPoints());
+        return this.anyPointOrdered(this.getOrderedKeys(), 0, predicate);
+    }
 
-        if (region instanceof BoundingBoxRegion other)
+    /**
+     * Visits the points of the region in the order of anyPointOrdered, beginning at the given point, by seeking
+     * it in the sorted keys. Nothing is visited if the given point is not part of the region.
+     *
+     * @param startFrom the point to start from, or null to start from the first point
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    @Override
+    public boolean anyPointFrom(Point startFrom, PointPredicate predicate)
+    {
+        final long[] ordered = this.getOrderedKeys();
+        if (startFrom == null)
         {
-            return pointSet.contains(other.topLeft()) || pointSet.contains(other.bottomRight());
+            return this.anyPointOrdered(ordered, 0, predicate);
         }
-        else if (region instanceof LineRegion other)
+
+        final int from = Arrays.binarySearch(ordered, key(startFrom.x(), startFrom.y()));
+        return from >= 0 && this.anyPointOrdered(ordered, from, predicate);
+    }
+
+    private boolean anyPointOrdered(long[] ordered, int from, PointPredicate predicate)
+    {
+        for (int i = from; i < ordered.length; i++)
         {
-            return pointSet.contains(other.start()) || pointSet.contains(other.end());
+            if (predicate.test((int) ordered[i] ^ Integer.MIN_VALUE, (int) (ordered[i] >> 32)))
+            {
+                return true;
+            }
         }
-        else if (region instanceof PointRegion)
+
+        return false;
+    }
+
+    /**
+     * Returns the keys of the points in the order of anyPointOrdered, sorting them on first use.
+     *
+     * @return the sorted keys
+     */
+    private long[] getOrderedKeys()
+    {
+        // Concurrent readers may both sort the keys, either result is the same and is published whole
+        long[] ordered = orderedKeys;
+        if (ordered == null)
         {
-            for (Point point : region.getPoints())
+            long[] keys = new long[xCoords.length];
+            for (int i = 0; i < xCoords.length; i++)
             {
-                if (pointSet.contains(point))
-                {
-                    return true;
-                }
+                keys[i] = key(xCoords[i], yCoords[i]);
             }
+
+            Arrays.sort(keys);
+            orderedKeys = keys;
+            ordered = keys;
         }
-        return false;
+
+        return ordered;
+    }
+
+    private static long key(int x, int y)
+    {
+        // The y-coordinate fills the high bits and the sign-flipped x-coordinate the low bits, so the natural
+        // order of the keys is the order by y-coordinate and then x-coordinate
+        return ((long) y << 32) | ((x ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Determines if the region contains the specified point.
+     *
+     * @param point the Point object to check
+     * @return true if the region contains the point, false otherwise
+     */
+    @Override
+    public boolean contains(Point point)
+    {
+        return indexOf(point.x(), point.y()) >= 0;
+    }
+
+    /**
+     * Determines if the region contains the point at the specified coordinates.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return true if the region contains the point, false otherwise
+     */
+    @Override
+    public boolean contains(int x, int y)
+    {
+        return indexOf(x, y) >= 0;
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified region.
+     *
+     * @param region the RegionInterface object to check
+     * @return true if the regions overlap, false otherwise
+     */
+    @Override
+    public boolean contains(RegionInterface region)
+    {
+        return RegionAlgebra.intersects(this, region);
     }
 
     /**
-     * Determines if the region contains the specified area region.
+     * Determines if the region shares at least one point with the specified area region.
      *
      * @param areaRegion the AreaRegion object to check
-     * @return true if the region contains the specified area region, false otherwise
+     * @return true if the regions overlap, false otherwise
      */
     @Override
     public boolean contains(AreaRegion areaRegion)
@@ -288,8 +477,8 @@ public final class PointRegion implements RegionInterface
     @Override
     public Point getRandom(Random random)
     {
-        final int index = random.nextInt(xCoords.size());
-        return new Point(xCoords.get(index), yCoords.get(index));
+        final int index = random.nextInt(xCoords.length);
+        return new Point(xCoords[index], yCoords[index]);
     }
 
     /**
@@ -311,6 +500,6 @@ public final class PointRegion implements RegionInterface
     @Override
     public int size()
     {
-        return xCoords.size();
+        return xCoords.length;
     }
 }
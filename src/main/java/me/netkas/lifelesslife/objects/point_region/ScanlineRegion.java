@@ -0,0 +1,704 @@
+package me.netkas.lifelesslife.objects.point_region;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.classes.RandomGenerator;
+import me.netkas.lifelesslife.classes.RegionAlgebra;
+import me.netkas.lifelesslife.enums.Orientation;
+import me.netkas.lifelesslife.interfaces.PointConsumer;
+import me.netkas.lifelesslife.interfaces.PointPredicate;
+import me.netkas.lifelesslife.interfaces.RegionInterface;
+import me.netkas.lifelesslife.records.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public final class ScanlineRegion implements RegionInterface
+{
+    private final int[] spanY;
+    private final int[] spanStart;
+    private final int[] spanEnd;
+    private final int[] offsets;
+    private final int size;
+    private final int minX;
+    private final int maxX;
+
+    /**
+     * Represents a region stored as horizontal spans, one or more per row, sorted by their y-coordinate and
+     * start x-coordinate. Unlike PointRegion the points are not required to be connected.
+     * Overlapping or touching spans of the same row are merged.
+     *
+     * @param spanY the y-coordinate of each span
+     * @param spanStart the first x-coordinate of each span, inclusive
+     * @param spanEnd the last x-coordinate of each span, inclusive
+     * @throws IllegalArgumentException if the arrays differ in length or a span ends before it starts
+     */
+    public ScanlineRegion(int[] spanY, int[] spanStart, int[] spanEnd)
+    {
+        this(fromSpans(spanY, spanStart, spanEnd));
+    }
+
+    /**
+     * Represents a region made of the given points, adjacent points of a row are merged into spans.
+     *
+     * @param points the points of the region, duplicates are ignored
+     */
+    public ScanlineRegion(List<Point> points)
+    {
+        this(fromPoints(points));
+    }
+
+    /**
+     * Represents a region covering the same points as the given region.
+     *
+     * @param region the region to convert
+     */
+    public ScanlineRegion(RegionInterface region)
+    {
+        this(fromRegion(region));
+    }
+
+    /**
+     * Wraps spans that are already sorted and merged.
+     *
+     * @param builder the builder holding the spans
+     */
+    private ScanlineRegion(SpanBuilder builder)
+    {
+        this.spanY = builder.ys();
+        this.spanStart = builder.starts();
+        this.spanEnd = builder.ends();
+        this.offsets = computeOffsets(this.spanStart, this.spanEnd);
+
+        final int last = this.offsets.length - 1;
+        this.size = last < 0 ? 0 : this.offsets[last] + this.spanEnd[last] - this.spanStart[last] + 1;
+
+        int minX = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        for (int i = 0; i <= last; i++)
+        {
+            minX = Math.min(minX, this.spanStart[i]);
+            maxX = Math.max(maxX, this.spanEnd[i]);
+        }
+
+        this.minX = minX;
+        this.maxX = maxX;
+    }
+
+    private static SpanBuilder fromSpans(int[] spanY, int[] spanStart, int[] spanEnd)
+    {
+        if (spanY.length != spanStart.length || spanY.length != spanEnd.length)
+        {
+            throw new IllegalArgumentException("The span arrays must have the same length.");
+        }
+
+        // Sort the span indexes by row and start so each end stays with its span
+        long[] keys = new long[spanY.length];
+        Integer[] order = new Integer[spanY.length];
+        for (int i = 0; i < spanY.length; i++)
+        {
+            if (spanEnd[i] < spanStart[i])
+            {
+                throw new IllegalArgumentException("A span must not end before it starts.");
+            }
+
+            keys[i] = key(spanStart[i], spanY[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+        SpanBuilder builder = new SpanBuilder(spanY.length);
+        for (int i : order)
+        {
+            builder.append(spanY[i], spanStart[i], spanEnd[i]);
+        }
+
+        return builder;
+    }
+
+    private static SpanBuilder fromPoints(List<Point> points)
+    {
+        long[] keys = new long[points.size()];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = key(points.get(i).x(), points.get(i).y());
+        }
+        Arrays.sort(keys);
+
+        SpanBuilder builder = new SpanBuilder(16);
+        for (long key : keys)
+        {
+            builder.append(keyY(key), keyX(key), keyX(key));
+        }
+
+        return builder;
+    }
+
+    private static SpanBuilder fromRegion(RegionInterface region)
+    {
+        SpanBuilder builder = new SpanBuilder(16);
+        region.anyPointOrdered((x, y) ->
+        {
+            builder.append(y, x, x);
+            return false;
+        });
+
+        return builder;
+    }
+
+    /**
+     * Computes the number of points preceding each span.
+     *
+     * @param starts the start of each span
+     * @param ends the end of each span
+     * @return the number of points preceding each span
+     */
+    private static int[] computeOffsets(int[] starts, int[] ends)
+    {
+        int[] offsets = new int[starts.length];
+        int offset = 0;
+
+        for (int i = 0; i < starts.length; i++)
+        {
+            offsets[i] = offset;
+            offset = Math.addExact(offset, ends[i] - starts[i] + 1);
+        }
+
+        return offsets;
+    }
+
+    /**
+     * Packs coordinates into a key ordered by y-coordinate and then x-coordinate.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the packed key
+     */
+    private static long key(int x, int y)
+    {
+        return ((long) y << 32) | ((x ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static int keyX(long key)
+    {
+        return (int) key ^ Integer.MIN_VALUE;
+    }
+
+    private static int keyY(long key)
+    {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Finds the span that could contain the given coordinates, which is the last span starting at or before them.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the index of the span, or -1 if no span starts at or before the coordinates
+     */
+    private int floorSpan(int x, int y)
+    {
+        final long target = key(x, y);
+        int low = 0;
+        int high = spanY.length - 1;
+        int found = -1;
+
+        while (low <= high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (key(spanStart[mid], spanY[mid]) <= target)
+            {
+                found = mid;
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid - 1;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Returns the number of spans making up the region.
+     *
+     * @return the number of spans
+     */
+    public int getSpanCount()
+    {
+        return spanY.length;
+    }
+
+    /**
+     * Determines if the region covers no points.
+     *
+     * @return true if the region is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Determines if the region defined by its spans is a line.
+     *
+     * @return true if the region is a line, false otherwise
+     */
+    @Override
+    public boolean isLine()
+    {
+        return !isEmpty() && (getWidth() == 0 || getHeight() == 0);
+    }
+
+    /**
+     * Returns the orientation of the region.
+     *
+     * @return the orientation of the region
+     * @throws IllegalStateException if the region is not a line
+     */
+    @Override
+    public Orientation getOrientation()
+    {
+        if (!isLine())
+        {
+            throw new IllegalStateException("The region must be a line to determine its orientation.");
+        }
+
+        return getWidth() == 0 ? Orientation.VERTICAL : Orientation.HORIZONTAL;
+    }
+
+    /**
+     * Returns the height of the region.
+     *
+     * @return the height of the region
+     */
+    @Override
+    public int getHeight()
+    {
+        return isEmpty() ? 0 : spanY[spanY.length - 1] - spanY[0];
+    }
+
+    /**
+     * Returns the width of the region.
+     *
+     * @return the width of the region
+     */
+    @Override
+    public int getWidth()
+    {
+        return isEmpty() ? 0 : maxX - minX;
+    }
+
+    /**
+     * Returns the bounding box of the region.
+     *
+     * @return the bounding box of the region
+     * @throws IllegalStateException if the region is empty
+     */
+    @Override
+    public BoundingBoxRegion getBounds()
+    {
+        if (isEmpty())
+        {
+            throw new IllegalStateException("An empty region has no bounds.");
+        }
+
+        return new BoundingBoxRegion(new Point(minX, spanY[0]), new Point(maxX, spanY[spanY.length - 1]));
+    }
+
+    /**
+     * Returns a list of the points of the region, ordered by their y-coordinate and x-coordinate.
+     *
+     * @return a list of the points of the region
+     */
+    @Override
+    public List<Point> getPoints()
+    {
+        List<Point> points = new ArrayList<>(size);
+        forEachPoint((x, y) -> points.add(new Point(x, y)));
+        return points;
+    }
+
+    /**
+     * Returns a list of points ordered by their y-coordinate and x-coordinate in case of tie,
+     * which is the order the spans are stored in.
+     *
+     * @return a list of points ordered by their y-coordinate and x-coordinate
+     */
+    @Override
+    public List<Point> getPointsOrdered()
+    {
+        return getPoints();
+    }
+
+    /**
+     * Visits every point of the region span by span.
+     *
+     * @param consumer the consumer receiving the coordinates of each point
+     */
+    @Override
+    public void forEachPoint(PointConsumer consumer)
+    {
+        for (int i = 0; i < spanY.length; i++)
+        {
+            for (int x = spanStart[i]; x <= spanEnd[i]; x++)
+            {
+                consumer.accept(x, spanY[i]);
+            }
+        }
+    }
+
+    /**
+     * Visits the points of the region span by span until the predicate matches one of them.
+     *
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    @Override
+    public boolean anyPoint(PointPredicate predicate)
+    {
+        for (int i = 0; i < spanY.length; i++)
+        {
+            for (int x = spanStart[i]; x <= spanEnd[i]; x++)
+            {
+                if (predicate.test(x, spanY[i]))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Visits the points of the region ordered by their y-coordinate and x-coordinate in case of tie,
+     * which is the same order as anyPoint.
+     *
+     * @param predicate the predicate evaluated on the coordinates of each point
+     * @return true if the predicate matched a point, false otherwise
+     */
+    @Override
+    public boolean anyPointOrdered(PointPredicate predicate)
+    {
+        return anyPoint(predicate);
+    }
+
+    /**
+     * Determines if the region contains the specified point.
+     *
+     * @param point the Point object to check
+     * @return true if the region contains the point, false otherwise
+     */
+    @Override
+    public boolean contains(Point point)
+    {
+        return contains(point.x(), point.y());
+    }
+
+    /**
+     * Determines if the region contains the point at the specified coordinates using a binary search over the spans.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return true if the region contains the point, false otherwise
+     */
+    @Override
+    public boolean contains(int x, int y)
+    {
+        final int span = floorSpan(x, y);
+        return span >= 0 && spanY[span] == y && x <= spanEnd[span];
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified region.
+     *
+     * @param region the RegionInterface object to check
+     * @return true if the regions overlap, false otherwise
+     */
+    @Override
+    public boolean contains(RegionInterface region)
+    {
+        return !isEmpty() && RegionAlgebra.intersects(this, region);
+    }
+
+    /**
+     * Determines if the region shares at least one point with the specified area region.
+     *
+     * @param areaRegion the AreaRegion object to check
+     * @return true if the regions overlap, false otherwise
+     */
+    @Override
+    public boolean contains(AreaRegion areaRegion)
+    {
+        return this.contains(areaRegion.getRegion());
+    }
+
+    /**
+     * Returns a random point of the region, every point being equally likely so that each span is
+     * weighted by its length.
+     *
+     * @param random the Random object used to generate the random point
+     * @return a random Point object from the region
+     * @throws IllegalStateException if the region is empty
+     */
+    @Override
+    public Point getRandom(Random random)
+    {
+        if (isEmpty())
+        {
+            throw new IllegalStateException("Cannot pick a random point from an empty region.");
+        }
+
+        final int index = random.nextInt(size);
+        int span = Arrays.binarySearch(offsets, index);
+        if (span < 0)
+        {
+            span = -span - 2;
+        }
+
+        return new Point(spanStart[span] + index - offsets[span], spanY[span]);
+    }
+
+    /**
+     * Returns a random Point object from the region.
+     *
+     * @return a random Point object
+     */
+    @Override
+    public Point getRandom()
+    {
+        return getRandom(RandomGenerator.getInstance());
+    }
+
+    /**
+     * Returns the number of points covered by the spans.
+     *
+     * @return the size of the region
+     */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the points contained in this region or the other region.
+     *
+     * @param other the other region
+     * @return the union of both regions
+     */
+    public ScanlineRegion union(ScanlineRegion other)
+    {
+        return combine(other, Operation.UNION);
+    }
+
+    /**
+     * Returns the points contained in both this region and the other region.
+     *
+     * @param other the other region
+     * @return the intersection of both regions
+     */
+    public ScanlineRegion intersection(ScanlineRegion other)
+    {
+        return combine(other, Operation.INTERSECTION);
+    }
+
+    /**
+     * Returns the points contained in this region but not in the other region.
+     *
+     * @param other the other region
+     * @return the difference of both regions
+     */
+    public ScanlineRegion difference(ScanlineRegion other)
+    {
+        return combine(other, Operation.DIFFERENCE);
+    }
+
+    private enum Operation
+    {
+        UNION,
+        INTERSECTION,
+        DIFFERENCE
+    }
+
+    /**
+     * Combines the spans of both regions row by row, never visiting individual points.
+     *
+     * @param other the other region
+     * @param operation the set operation to apply
+     * @return the combined region
+     */
+    private ScanlineRegion combine(ScanlineRegion other, Operation operation)
+    {
+        SpanBuilder builder = new SpanBuilder(spanY.length + other.spanY.length);
+        int i = 0;
+        int j = 0;
+
+        while (i < spanY.length || j < other.spanY.length)
+        {
+            final int row;
+            if (j >= other.spanY.length || (i < spanY.length && spanY[i] < other.spanY[j]))
+            {
+                row = spanY[i];
+            }
+            else
+            {
+                row = other.spanY[j];
+            }
+
+            int iEnd = i;
+            while (iEnd < spanY.length && spanY[iEnd] == row)
+            {
+                iEnd++;
+            }
+
+            int jEnd = j;
+            while (jEnd < other.spanY.length && other.spanY[jEnd] == row)
+            {
+                jEnd++;
+            }
+
+            switch (operation)
+            {
+                case UNION -> unionRow(builder, row, other, i, iEnd, j, jEnd);
+                case INTERSECTION -> intersectRow(builder, row, other, i, iEnd, j, jEnd);
+                case DIFFERENCE -> subtractRow(builder, row, other, i, iEnd, j, jEnd);
+            }
+
+            i = iEnd;
+            j = jEnd;
+        }
+
+        return new ScanlineRegion(builder);
+    }
+
+    private void unionRow(SpanBuilder builder, int row, ScanlineRegion other, int i, int iEnd, int j, int jEnd)
+    {
+        while (i < iEnd || j < jEnd)
+        {
+            if (j >= jEnd || (i < iEnd && spanStart[i] <= other.spanStart[j]))
+            {
+                builder.append(row, spanStart[i], spanEnd[i]);
+                i++;
+            }
+            else
+            {
+                builder.append(row, other.spanStart[j], other.spanEnd[j]);
+                j++;
+            }
+        }
+    }
+
+    private void intersectRow(SpanBuilder builder, int row, ScanlineRegion other, int i, int iEnd, int j, int jEnd)
+    {
+        while (i < iEnd && j < jEnd)
+        {
+            final int start = Math.max(spanStart[i], other.spanStart[j]);
+            final int end = Math.min(spanEnd[i], other.spanEnd[j]);
+
+            if (start <= end)
+            {
+                builder.append(row, start, end);
+            }
+
+            if (spanEnd[i] < other.spanEnd[j])
+            {
+                i++;
+            }
+            else
+            {
+                j++;
+            }
+        }
+    }
+
+    private void subtractRow(SpanBuilder builder, int row, ScanlineRegion other, int i, int iEnd, int j, int jEnd)
+    {
+        for (; i < iEnd; i++)
+        {
+            int start = spanStart[i];
+            final int end = spanEnd[i];
+
+            // Skip the spans of the other region ending before this span
+            while (j < jEnd && other.spanEnd[j] < start)
+            {
+                j++;
+            }
+
+            int k = j;
+            while (k < jEnd && other.spanStart[k] <= end && start <= end)
+            {
+                if (other.spanStart[k] > start)
+                {
+                    builder.append(row, start, other.spanStart[k] - 1);
+                }
+
+                start = Math.max(start, other.spanEnd[k] + 1);
+                k++;
+            }
+
+            if (start <= end)
+            {
+                builder.append(row, start, end);
+            }
+        }
+    }
+
+    /**
+     * Accumulates spans appended in row-major order, merging a span into the previous one when they
+     * overlap or touch on the same row.
+     */
+    private static final class SpanBuilder
+    {
+        private int[] ys;
+        private int[] starts;
+        private int[] ends;
+        private int count;
+
+        private SpanBuilder(int capacity)
+        {
+            this.ys = new int[Math.max(capacity, 1)];
+            this.starts = new int[ys.length];
+            this.ends = new int[ys.length];
+        }
+
+        private void append(int y, int start, int end)
+        {
+            if (count > 0 && ys[count - 1] == y && (long) start <= (long) ends[count - 1] + 1)
+            {
+                ends[count - 1] = Math.max(ends[count - 1], end);
+                return;
+            }
+
+            if (count == ys.length)
+            {
+                ys = Arrays.copyOf(ys, count * 2);
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+
+            ys[count] = y;
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+        }
+
+        private int[] ys()
+        {
+            return Arrays.copyOf(ys, count);
+        }
+
+        private int[] starts()
+        {
+            return Arrays.copyOf(starts, count);
+        }
+
+        private int[] ends()
+        {
+            return Arrays.copyOf(ends, count);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package me.netkas.lifelesslife.records;
+
+/**
+ * Represents the position of a chunk within a world, measured in chunks rather than cells.
+ */
+public record ChunkCoordinate(int x, int y)
+{
+    /**
+     * Packs the coordinate into a single long, the x-coordinate in the high half and the y-coordinate
+     * in the low half.
+     *
+     * @return the packed coordinate
+     */
+    public long pack()
+    {
+        return ((long) this.x << 32) | (this.y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the coordinate packed by pack().
+     *
+     * @param packed the packed coordinate
+     * @return the unpacked coordinate
+     */
+    public static ChunkCoordinate unpack(long packed)
+    {
+        return new ChunkCoordinate((int) (packed >> 32), (int) packed);
+    }
+}
@@ -0,0 +1,35 @@
+package me.netkas.lifelesslife.records;
+
+/**
+ * Represents a snapshot of how the chunks of a world were served and how well its idle chunks compress.
+ *
+ * @param hits the number of accesses served by a materialized chunk
+ * @param coldHits the number of accesses served by rehydrating a compressed chunk
+ * @param misses the number of accesses that had to load or generate the chunk
+ * @param compressedChunks the number of resident chunks currently compressed
+ * @param compressedBytes the size of the compressed chunks
+ * @param uncompressedBytes the estimated size of the compressed chunks when materialized
+ */
+public record ResidencyStats(long hits, long coldHits, long misses, int compressedChunks, long compressedBytes, long uncompressedBytes)
+{
+    /**
+     * Returns the share of accesses served without loading or generating the chunk.
+     *
+     * @return the hit rate between 0 and 1, or 0 if no chunk was accessed yet
+     */
+    public double hitRate()
+    {
+        final long accesses = this.hits + this.coldHits + this.misses;
+        return accesses == 0 ? 0 : (double) (this.hits + this.coldHits) / accesses;
+    }
+
+    /**
+     * Returns how many times smaller the compressed chunks are than their materialized estimate.
+     *
+     * @return the compression ratio, or 1 if no chunk is compressed
+     */
+    public double compressionRatio()
+    {
+        return this.compressedBytes == 0 ? 1 : (double) this.uncompressedBytes / this.compressedBytes;
+    }
+}
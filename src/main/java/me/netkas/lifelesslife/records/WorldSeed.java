@@ -0,0 +1,94 @@
+package me.netkas.lifelesslife.records;
+
+import java.util.Random;
+
+/**
+ * Represents a node in the tree of seeds derived from a single world seed. Every chunk, every layer within a
+ * chunk and every attempt within a layer gets its own seed, so their random streams are independent of each
+ * other and of the order they are generated in.
+ */
+public record WorldSeed(long seed)
+{
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long CHUNK_SALT = 0x6A09E667F3BCC909L;
+    private static final long LAYER_SALT = 0xBB67AE8584CAA73BL;
+    private static final long ATTEMPT_SALT = 0x3C6EF372FE94F82BL;
+
+    /**
+     * Returns the seed of the chunk at the given coordinate.
+     *
+     * @param coordinate the coordinate of the chunk
+     * @return the seed of the chunk
+     */
+    public WorldSeed forChunk(ChunkCoordinate coordinate)
+    {
+        return this.derive(CHUNK_SALT, coordinate.pack());
+    }
+
+    /**
+     * Returns the seed of the layer with the given name. The seed is keyed by the name rather than the position
+     * of the layer, so adding, removing or reordering other layers does not change it.
+     *
+     * @param name the name of the layer
+     * @return the seed of the layer
+     */
+    public WorldSeed forLayer(String name)
+    {
+        // 64-bit FNV-1a over the characters of the name, which unlike String.hashCode spreads over the whole long
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < name.length(); i++)
+        {
+            hash = (hash ^ name.charAt(i)) * 0x100000001B3L;
+        }
+
+        return this.derive(LAYER_SALT, hash);
+    }
+
+    /**
+     * Returns the seed of a numbered attempt, for generators that retry and want every attempt to draw from
+     * its own stream regardless of how many values earlier attempts consumed.
+     *
+     * @param attempt the index of the attempt
+     * @return the seed of the attempt
+     */
+    public WorldSeed forAttempt(int attempt)
+    {
+        return this.derive(ATTEMPT_SALT, attempt);
+    }
+
+    /**
+     * Returns a new Random seeded with this seed.
+     *
+     * @return a new Random producing the stream of this seed
+     */
+    public Random toRandom()
+    {
+        return new Random(this.seed);
+    }
+
+    /**
+     * Scrambles a 64-bit value with the SplitMix64 finalizer so that nearby inputs produce unrelated outputs.
+     *
+     * @param value the value to scramble
+     * @return the scrambled value
+     */
+    public static long mix(long value)
+    {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Derives a child seed, the salt keeps the levels of the tree apart so that for example chunk 0 and layer 0
+     * do not share a seed.
+     *
+     * @param salt the salt of the level
+     * @param child the index of the child within the level
+     * @return the seed of the child
+     */
+    private WorldSeed derive(long salt, long child)
+    {
+        return new WorldSeed(mix(mix(this.seed ^ salt) + child * GOLDEN_GAMMA));
+    }
+}
@@ -0,0 +1,53 @@
+package me.netkas.lifelesslife.classes;
+
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+import me.netkas.lifelesslife.records.WorldSeed;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CounterRandomTest {
+
+    @Test
+    void valuesDependOnlyOnInputs() {
+        WorldSeed chunk = new WorldSeed(99).forChunk(new ChunkCoordinate(1, 2));
+        CounterRandom first = new CounterRandom(chunk);
+        CounterRandom second = new CounterRandom(chunk.seed());
+
+        long forward = first.nextLong(10, 20, 1);
+        first.nextLong(11, 20, 1);
+
+        assertEquals(forward, second.nextLong(10, 20, 1));
+        assertNotEquals(forward, second.nextLong(10, 20, 2));
+        assertNotEquals(forward, second.nextLong(20, 10, 1));
+    }
+
+    @Test
+    void boundedValuesAreUniform() {
+        CounterRandom random = new CounterRandom(7);
+        int[] buckets = new int[10];
+        int chances = 0;
+
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 200; x++) {
+                int value = random.nextInt(x, y, 0, buckets.length);
+                assertTrue(value >= 0 && value < buckets.length);
+                buckets[value]++;
+
+                double fraction = random.nextDouble(x, y, 1);
+                assertTrue(fraction >= 0.0 && fraction < 1.0);
+
+                if (RandomUtilities.randomChance(30, random, x, y, 2)) {
+                    chances++;
+                }
+            }
+        }
+
+        for (int count : buckets) {
+            assertEquals(4000, count, 300);
+        }
+
+        assertEquals(12000, chances, 600);
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0, 0, 0, 0));
+    }
+}
@@ -0,0 +1,69 @@
+package me.netkas.lifelesslife.classes;
+
+import me.netkas.lifelesslife.objects.point_region.BoundingBoxRegion;
+import me.netkas.lifelesslife.objects.point_region.LineRegion;
+import me.netkas.lifelesslife.objects.point_region.PointRegion;
+import me.netkas.lifelesslife.objects.point_region.ScanlineRegion;
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionAlgebraTest {
+
+    @Test
+    void perpendicularLinesCrossingInTheMiddle() {
+        LineRegion horizontal = new LineRegion(new Point(0, 5), new Point(10, 5));
+        LineRegion vertical = new LineRegion(new Point(5, 0), new Point(5, 10));
+
+        assertTrue(RegionAlgebra.intersects(horizontal, vertical));
+        assertTrue(horizontal.contains(vertical));
+        assertEquals(List.of(new Point(5, 5)), RegionAlgebra.intersection(horizontal, vertical));
+    }
+
+    @Test
+    void lineCrossingBoundingBoxWithoutEndpointsInside() {
+        BoundingBoxRegion box = new BoundingBoxRegion(new Point(3, 3), new Point(6, 6));
+        LineRegion line = new LineRegion(new Point(0, 4), new Point(10, 4));
+
+        assertTrue(box.contains(line));
+        assertTrue(line.contains(box));
+        assertEquals(4, RegionAlgebra.intersection(box, line).size());
+    }
+
+    @Test
+    void disjointRegions() {
+        BoundingBoxRegion box = new BoundingBoxRegion(new Point(0, 0), new Point(2, 2));
+        LineRegion line = new LineRegion(new Point(3, 0), new Point(3, 10));
+
+        assertFalse(RegionAlgebra.intersects(box, line));
+        assertNull(RegionAlgebra.getOverlap(box, line));
+        assertTrue(RegionAlgebra.intersection(box, line).isEmpty());
+    }
+
+    @Test
+    void pointRegionAgainstOtherShapes() {
+        PointRegion turn = new PointRegion(List.of(new Point(0, 0), new Point(1, 0), new Point(2, 0), new Point(2, 1), new Point(2, 2)));
+        LineRegion throughCorner = new LineRegion(new Point(1, 1), new Point(1, 5));
+        LineRegion throughLeg = new LineRegion(new Point(0, 2), new Point(5, 2));
+        PointRegion other = new PointRegion(List.of(new Point(2, 2), new Point(3, 2)));
+
+        assertFalse(RegionAlgebra.intersects(turn, throughCorner));
+        assertTrue(RegionAlgebra.intersects(turn, throughLeg));
+        assertTrue(turn.contains(other));
+        assertEquals(List.of(new Point(2, 2)), RegionAlgebra.intersection(other, turn));
+    }
+
+    @Test
+    void emptyScanlineRegionIntersectsNothing() {
+        ScanlineRegion empty = new ScanlineRegion(List.of());
+        BoundingBoxRegion box = new BoundingBoxRegion(new Point(0, 0), new Point(2, 2));
+
+        assertFalse(RegionAlgebra.intersects(empty, box));
+        assertFalse(RegionAlgebra.intersects(box, empty));
+        assertFalse(box.contains(empty));
+        assertTrue(RegionAlgebra.intersection(empty, box).isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package me.netkas.lifelesslife.classes.layer_generators;
+
+import me.netkas.lifelesslife.abstracts.LayerGenerator;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.records.WorldSeed;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static me.netkas.lifelesslife.objects.ChunkDescriptions.describe;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationPipelineTest {
+
+    /**
+     * A layer between the main streets and the roads that only draws from its random stream.
+     */
+    private static final class SurveyGenerator extends LayerGenerator {
+        @Override
+        public void generateLayer(AreaChunk chunk, DensityLevel level, Random random) {
+            random.nextLong();
+        }
+
+        @Override
+        public Set<AreaRegionType> getReads() {
+            return Set.of(AreaRegionType.MAIN_STREET);
+        }
+
+        @Override
+        public Set<AreaRegionType> getWrites() {
+            return Set.of();
+        }
+    }
+
+    @Test
+    void layersRunAfterTheLayersTheyRead() {
+        GenerationPipeline pipeline = new GenerationPipeline(List.of(new RoadGenerator(), new MainStreetGenerator()));
+        List<LayerGenerator> order = pipeline.getOrder();
+
+        assertInstanceOf(MainStreetGenerator.class, order.get(0));
+        assertInstanceOf(RoadGenerator.class, order.get(1));
+    }
+
+    @Test
+    void unresolvableLayersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new GenerationPipeline(List.of(new RoadGenerator())));
+        assertThrows(IllegalArgumentException.class, () -> new GenerationPipeline(List.of(new MainStreetGenerator(), new MainStreetGenerator())));
+    }
+
+    @Test
+    void generatedLayersAreSkipped() {
+        GenerationPipeline pipeline = new GenerationPipeline(List.of(new MainStreetGenerator(), new RoadGenerator()));
+        WorldSeed seed = new WorldSeed(11);
+        AreaChunk chunk = pipeline.generate(new AreaChunk(128, 128), DensityLevel.LOW, seed);
+        List<List<?>> expected = describe(chunk);
+
+        assertEquals(List.of("MainStreetGenerator", "RoadGenerator"), List.copyOf(chunk.getGeneratedLayers()));
+        pipeline.generate(chunk, DensityLevel.LOW, seed);
+        assertEquals(expected, describe(chunk));
+    }
+
+    @Test
+    void asynchronousGenerationMatchesSequentialGeneration() {
+        GenerationPipeline pipeline = new GenerationPipeline(List.of(new MainStreetGenerator(), new RoadGenerator()));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            for (long seed = 0; seed < 4; seed++) {
+                AreaChunk sequential = pipeline.generate(new AreaChunk(128, 128), DensityLevel.LOW, new WorldSeed(seed));
+                AreaChunk concurrent = pipeline.generateAsync(new AreaChunk(128, 128), DensityLevel.LOW, new WorldSeed(seed), executor).join();
+
+                assertEquals(describe(sequential), describe(concurrent));
+                assertEquals(Set.copyOf(sequential.getGeneratedLayers()), Set.copyOf(concurrent.getGeneratedLayers()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void addingALayerLeavesTheOtherLayersUnchanged() {
+        GenerationPipeline original = new GenerationPipeline(List.of(new MainStreetGenerator(), new RoadGenerator()));
+        GenerationPipeline extended = new GenerationPipeline(List.of(new MainStreetGenerator(), new SurveyGenerator(), new RoadGenerator()));
+        WorldSeed seed = new WorldSeed(21);
+
+        AreaChunk stored = original.generate(new AreaChunk(128, 128), DensityLevel.LOW, seed);
+        List<List<?>> expected = describe(stored);
+        assertInstanceOf(SurveyGenerator.class, extended.getOrder().get(1));
+
+        // A chunk regenerated with the new layer matches a stored chunk completed with it
+        assertEquals(expected, describe(extended.generate(new AreaChunk(128, 128), DensityLevel.LOW, seed)));
+        assertEquals(expected, describe(extended.generate(stored, DensityLevel.LOW, seed)));
+        assertTrue(stored.isGenerated("SurveyGenerator"));
+    }
+}
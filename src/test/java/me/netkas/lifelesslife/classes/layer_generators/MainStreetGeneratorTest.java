@@ -2,8 +2,10 @@ package me.netkas.lifelesslife.classes.layer_generators;
 
 import me.netkas.lifelesslife.abstracts.AreaRegion;
 import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
 import me.netkas.lifelesslife.enums.DensityLevel;
 import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
 import me.netkas.lifelesslife.records.Point;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,8 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 class MainStreetGeneratorTest {
@@ -66,6 +70,39 @@ class MainStreetGeneratorTest {
         }
     }
 
+    @Test
+    void streetsKeepTheirDistanceAlongEveryEdge() {
+        for (int size : new int[]{48, 512}) {
+            AreaChunk chunk = new AreaChunk(size, size);
+            new MainStreetGenerator().generateLayer(chunk, DensityLevel.HIGH, new Random(3));
+
+            List<Integer> north = new ArrayList<>();
+            List<Integer> west = new ArrayList<>();
+            for (AreaRegion region : chunk.getRegions(AreaRegionType.MAIN_STREET)) {
+                MainStreetRegion street = (MainStreetRegion) region;
+                Point start = street.getRegion().getPointsOrdered().getFirst();
+
+                // The east and south edges lie outside the chunk and never hold a starting point
+                if (street.getDirection() == CardinalDirection.SOUTH) {
+                    north.add(start.x());
+                } else {
+                    Assertions.assertEquals(CardinalDirection.EAST, street.getDirection());
+                    west.add(start.y());
+                }
+            }
+
+            Assertions.assertFalse(north.isEmpty() && west.isEmpty());
+            for (List<Integer> positions : List.of(north, west)) {
+                for (int i = 0; i < positions.size(); i++) {
+                    Assertions.assertTrue(positions.get(i) >= 18 && positions.get(i) < size - 18);
+                    for (int j = i + 1; j < positions.size(); j++) {
+                        Assertions.assertTrue(Math.abs(positions.get(i) - positions.get(j)) > 18);
+                    }
+                }
+            }
+        }
+    }
+
     private void renderChunk(AreaChunk chunk, String name) throws IOException {
         // Prepare the image
         int tileSize = 4;
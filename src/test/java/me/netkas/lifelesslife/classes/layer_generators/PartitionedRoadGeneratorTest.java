@@ -0,0 +1,126 @@
+package me.netkas.lifelesslife.classes.layer_generators;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.objects.area_region.RoadRegion;
+import me.netkas.lifelesslife.objects.point_region.LineRegion;
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static me.netkas.lifelesslife.objects.ChunkDescriptions.describe;
+
+class PartitionedRoadGeneratorTest {
+
+    private static AreaChunk generate(PartitionedRoadGenerator generator) {
+        AreaChunk chunk = new AreaChunk(512, 512);
+        new MainStreetGenerator().generateLayer(chunk, DensityLevel.MEDIUM, new Random(11));
+        generator.generateLayer(chunk, DensityLevel.MEDIUM, new Random(12));
+        return chunk;
+    }
+
+    private static boolean runsAlong(AreaRegion region, Point point, CardinalDirection direction) {
+        return region.getRegion().contains(point.toDirection(direction)) || region.getRegion().contains(point.toDirection(direction.opposite()));
+    }
+
+    private static boolean isStreet(AreaRegion region) {
+        return region.getType() == AreaRegionType.ROAD || region.getType() == AreaRegionType.MAIN_STREET;
+    }
+
+    @Test
+    void roadsKeepClearOfEachOther() {
+        AreaChunk chunk = generate(new PartitionedRoadGenerator(128, Runnable::run));
+
+        Assertions.assertTrue(chunk.getRegionUsage(AreaRegionType.ROAD, true) > 0);
+        for (AreaRegion road : chunk.getRegions(AreaRegionType.ROAD)) {
+            for (Point point : road.getRegion().getPoints()) {
+                Assertions.assertTrue(chunk.inBounds(point));
+                Assertions.assertEquals(1, chunk.getRegions(point).size());
+            }
+        }
+    }
+
+    @Test
+    void parallelRoadsKeepTheMinimumDistance() {
+        AreaChunk chunk = generate(new PartitionedRoadGenerator(128, Runnable::run));
+
+        for (AreaRegion road : chunk.getRegions(AreaRegionType.ROAD)) {
+            for (Point point : road.getRegion().getPoints()) {
+                for (CardinalDirection direction : CardinalDirection.values()) {
+                    if (!runsAlong(road, point, direction)) {
+                        continue;
+                    }
+
+                    // No other street running the same way may lie within the minimum distance to either side
+                    for (CardinalDirection side : List.of(direction.getLeft(), direction.getRight())) {
+                        for (int distance = 1; distance <= RoadGenerator.MIN_DISTANCE; distance++) {
+                            Point neighbor = point.toDirection(side, distance);
+                            if (!chunk.inBounds(neighbor)) {
+                                break;
+                            }
+
+                            for (AreaRegion other : chunk.getRegions(neighbor)) {
+                                Assertions.assertFalse(other != road && isStreet(other) && runsAlong(other, neighbor, direction),
+                                        String.format("%s at %s runs within %s of %s", road.getFullName(), point, distance, other.getFullName()));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void roadsStartOnAStreet() {
+        AreaChunk chunk = generate(new PartitionedRoadGenerator(128, Runnable::run));
+
+        for (AreaRegion region : chunk.getRegions(AreaRegionType.ROAD)) {
+            RoadRegion road = (RoadRegion) region;
+            final CardinalDirection direction = road.getDirection();
+
+            // The start is the only point continuing in the direction of the road without a point behind it
+            Point start = null;
+            for (Point point : road.getRegion().getPoints()) {
+                if (!road.getRegion().contains(point.toDirection(direction.opposite())) && road.getRegion().contains(point.toDirection(direction))) {
+                    Assertions.assertNull(start, road.getFullName());
+                    start = point;
+                }
+            }
+
+            Assertions.assertNotNull(start, road.getFullName());
+            if (road.getRegion() instanceof LineRegion line) {
+                Assertions.assertEquals(line.start(), start);
+            }
+
+            Point behind = start.toDirection(direction.opposite());
+            Assertions.assertTrue(chunk.inBounds(behind));
+            Assertions.assertTrue(chunk.getRegions(behind).stream().anyMatch(PartitionedRoadGeneratorTest::isStreet),
+                    String.format("%s starts at %s away from any street", road.getFullName(), start));
+        }
+    }
+
+    @Test
+    void resultDoesNotDependOnTheExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AreaChunk serial = generate(new PartitionedRoadGenerator(128, Runnable::run));
+            AreaChunk parallel = generate(new PartitionedRoadGenerator(128, executor));
+            Assertions.assertEquals(describe(serial), describe(parallel));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsSectorsNarrowerThanTheGuardBands() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PartitionedRoadGenerator(RoadGenerator.MIN_DISTANCE, Runnable::run));
+    }
+}
@@ -13,6 +13,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Random;
 
 class RoadGeneratorTest {
@@ -66,6 +67,26 @@ class RoadGeneratorTest {
         }
     }
 
+    @Test
+    void saturatedChunkFinishesImmediately() {
+        AreaChunk chunk = new AreaChunk(64, 64);
+        (new MainStreetGenerator()).generateLayer(chunk, DensityLevel.HIGH, new Random(5));
+
+        // Neither run can reach the density on a chunk this small, both stop once no branch point is left and
+        // the second one finds none to begin with
+        Assertions.assertTimeout(Duration.ofSeconds(5), () -> (new RoadGenerator()).generateLayer(chunk, DensityLevel.HIGH, new Random(5)));
+        final int roads = chunk.getRegions(AreaRegionType.ROAD).size();
+        Assertions.assertTrue(roads > 0);
+        Assertions.assertTimeout(Duration.ofSeconds(5), () -> (new RoadGenerator()).generateLayer(chunk, DensityLevel.HIGH, new Random(6)));
+        Assertions.assertEquals(roads, chunk.getRegions(AreaRegionType.ROAD).size());
+
+        for (AreaRegion road : chunk.getRegions(AreaRegionType.ROAD)) {
+            for (Point point : road.getRegion().getPoints()) {
+                Assertions.assertEquals(1, chunk.getRegions(point).size());
+            }
+        }
+    }
+
     private void renderChunk(AreaChunk chunk, String name) throws IOException {
         // Prepare the image
         int tileSize = 4;
@@ -0,0 +1,94 @@
+package me.netkas.lifelesslife.classes.storage;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.classes.layer_generators.MainStreetGenerator;
+import me.netkas.lifelesslife.classes.layer_generators.RoadGenerator;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
+import me.netkas.lifelesslife.objects.area_region.RoadRegion;
+import me.netkas.lifelesslife.objects.point_region.PointRegion;
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+
+import static me.netkas.lifelesslife.objects.ChunkDescriptions.describe;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkCodecTest {
+
+    /**
+     * Asserts that every region was decoded into the same kind of point region it was encoded from.
+     */
+    private static void assertSameRepresentation(AreaChunk expected, AreaChunk actual) {
+        for (AreaRegionType type : AreaRegionType.values()) {
+            List<AreaRegion> regions = actual.getRegions(type);
+            for (int i = 0; i < regions.size(); i++) {
+                assertSame(expected.getRegions(type).get(i).getRegion().getClass(), regions.get(i).getRegion().getClass());
+            }
+        }
+    }
+
+    @Test
+    void generatedChunkRoundTrips() {
+        AreaChunk chunk = new AreaChunk(256, 256);
+        new MainStreetGenerator().generateLayer(chunk, DensityLevel.MEDIUM, new Random(5));
+        new RoadGenerator().generateLayer(chunk, DensityLevel.MEDIUM, new Random(6));
+        chunk.markGenerated("MainStreetGenerator");
+        chunk.markGenerated("RoadGenerator");
+
+        ByteBuffer encoded = ChunkCodec.encode(chunk);
+        AreaChunk decoded = ChunkCodec.decode(encoded);
+
+        assertFalse(encoded.hasRemaining());
+        assertEquals(chunk.getHeight(), decoded.getHeight());
+        assertEquals(chunk.getWidth(), decoded.getWidth());
+        assertEquals(describe(chunk), describe(decoded));
+        assertSameRepresentation(chunk, decoded);
+        assertEquals(chunk.getGeneratedLayers(), decoded.getGeneratedLayers());
+        assertEquals(chunk.getRegionUsage(AreaRegionType.ROAD, true), decoded.getRegionUsage(AreaRegionType.ROAD, true));
+    }
+
+    @Test
+    void customNamesAndPathsRoundTrip() {
+        AreaChunk chunk = new AreaChunk(20, 20);
+        List<Point> path = List.of(new Point(3, 3), new Point(3, 4), new Point(3, 5), new Point(4, 5), new Point(5, 5));
+        chunk.addRegion(new MainStreetRegion(new Point(0, 0), new Point(19, 0), CardinalDirection.EAST, "Ünïcode"));
+        chunk.addRegion(new RoadRegion(new PointRegion(path), CardinalDirection.SOUTH, "not a listed name"));
+
+        AreaChunk decoded = ChunkCodec.decode(ChunkCodec.encode(chunk));
+
+        assertEquals(describe(chunk), describe(decoded));
+        assertSameRepresentation(chunk, decoded);
+        assertEquals("Ünïcode", ((MainStreetRegion) decoded.getRegions(AreaRegionType.MAIN_STREET).get(0)).getBaseName());
+        assertEquals(CardinalDirection.SOUTH, ((RoadRegion) decoded.getRegions(AreaRegionType.ROAD).get(0)).getDirection());
+    }
+
+    @Test
+    void rejectsForeignData() {
+        assertThrows(IllegalArgumentException.class, () -> ChunkCodec.decode(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5})));
+
+        ByteBuffer buffer = ByteBuffer.allocate(5).putInt(ChunkCodec.MAGIC).put((byte) 99).flip();
+        assertThrows(IllegalArgumentException.class, () -> ChunkCodec.decode(buffer));
+    }
+
+    @Test
+    void varIntsAndZigZagRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        int[] values = {0, 1, -1, 63, -64, 300, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+        for (int value : values) {
+            ChunkCodec.putVarInt(buffer, ChunkCodec.zigZag(value));
+        }
+
+        buffer.flip();
+        for (int value : values) {
+            assertEquals(value, ChunkCodec.unZigZag(ChunkCodec.getVarInt(buffer)));
+        }
+    }
+}
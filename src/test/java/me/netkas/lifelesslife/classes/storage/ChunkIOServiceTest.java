@@ -0,0 +1,257 @@
+package me.netkas.lifelesslife.classes.storage;
+
+import me.netkas.lifelesslife.Game;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.interfaces.ChunkStore;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.objects.World;
+import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.netkas.lifelesslife.objects.ChunkDescriptions.describe;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkIOServiceTest {
+
+    /**
+     * An in-memory store that counts its operations and can hold writes back until released.
+     */
+    private static class RecordingStore implements ChunkStore {
+        private final Map<ChunkCoordinate, AreaChunk> chunks = new ConcurrentHashMap<>();
+        private final AtomicInteger saves = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+        private final CountDownLatch writeStarted = new CountDownLatch(1);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+        private final CountDownLatch loadRelease = new CountDownLatch(1);
+        private volatile ChunkCoordinate heldLoad;
+        private volatile RuntimeException saveFailure;
+        private volatile boolean closed;
+
+        private void enter() {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        }
+
+        @Override
+        public boolean contains(ChunkCoordinate coordinate) {
+            return chunks.containsKey(coordinate);
+        }
+
+        @Override
+        public AreaChunk load(ChunkCoordinate coordinate) {
+            enter();
+            try {
+                Thread.sleep(20);
+                if (coordinate.equals(heldLoad)) {
+                    loadRelease.await();
+                }
+
+                return chunks.get(coordinate);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void save(ChunkCoordinate coordinate, AreaChunk chunk) {
+            enter();
+            try {
+                writeStarted.countDown();
+                release.await();
+                if (saveFailure != null) {
+                    throw saveFailure;
+                }
+
+                saves.incrementAndGet();
+                chunks.put(coordinate, chunk);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static AreaChunk createChunk() {
+        AreaChunk chunk = new AreaChunk(8, 8);
+        chunk.addRegion(new MainStreetRegion(new Point(0, 2), new Point(7, 2), CardinalDirection.EAST, "First Street"));
+        return chunk;
+    }
+
+    @Test
+    void repeatedSavesAreCoalesced() throws Exception {
+        RecordingStore store = new RecordingStore();
+        store.release = new CountDownLatch(1);
+        ChunkIOService service = new ChunkIOService(store, 4);
+        ChunkCoordinate coordinate = new ChunkCoordinate(0, 0);
+
+        service.save(coordinate, new AreaChunk(1, 1));
+        store.writeStarted.await();
+
+        AreaChunk latest = null;
+        for (int i = 2; i <= 5; i++) {
+            latest = new AreaChunk(i, i);
+            service.save(coordinate, latest);
+        }
+
+        assertEquals(latest.getHeight(), service.loadAsync(coordinate).join().getHeight());
+        store.release.countDown();
+        service.flush();
+
+        assertEquals(2, store.saves.get());
+        assertEquals(latest.getHeight(), store.chunks.get(coordinate).getHeight());
+        assertEquals(0, service.getPendingCount());
+
+        service.close();
+        assertTrue(store.closed);
+    }
+
+    @Test
+    void loadsSeeAChunkWhileItsFirstWriteIsBlocked() throws Exception {
+        RecordingStore store = new RecordingStore();
+        store.release = new CountDownLatch(1);
+        ChunkIOService service = new ChunkIOService(store, 4);
+        ChunkCoordinate coordinate = new ChunkCoordinate(3, 3);
+        AreaChunk chunk = createChunk();
+
+        service.save(coordinate, chunk);
+        store.writeStarted.await();
+
+        // The chunk left the queue but the store does not hold it yet
+        assertEquals(0, service.getPendingCount());
+        assertNull(store.chunks.get(coordinate));
+        AreaChunk loaded = service.loadAsync(coordinate).join();
+        assertNotSame(chunk, loaded);
+        assertEquals(describe(chunk), describe(loaded));
+        assertTrue(service.contains(coordinate));
+
+        store.release.countDown();
+        service.close();
+        assertEquals(describe(chunk), describe(store.chunks.get(coordinate)));
+    }
+
+    @Test
+    void savesWriteTheStateAtTheTimeOfTheSave() throws Exception {
+        RecordingStore store = new RecordingStore();
+        store.release = new CountDownLatch(1);
+        ChunkIOService service = new ChunkIOService(store, 4);
+        ChunkCoordinate coordinate = new ChunkCoordinate(0, 0);
+        AreaChunk chunk = createChunk();
+        List<List<?>> saved = describe(chunk);
+
+        service.save(coordinate, chunk);
+        store.writeStarted.await();
+
+        // Neither the caller nor a reader changes the chunk being written
+        chunk.addRegion(new MainStreetRegion(new Point(0, 7), new Point(7, 7), CardinalDirection.EAST, "Later Street"));
+        service.loadAsync(coordinate).join().removeRegion(chunk.getRegions(AreaRegionType.MAIN_STREET).getFirst());
+
+        store.release.countDown();
+        service.close();
+        assertEquals(saved, describe(store.chunks.get(coordinate)));
+    }
+
+    @Test
+    void uncheckedFailuresKeepTheChunkQueued() throws Exception {
+        RecordingStore store = new RecordingStore();
+        store.saveFailure = new IllegalStateException("disk went away");
+        ChunkIOService service = new ChunkIOService(store, 4);
+        ChunkCoordinate coordinate = new ChunkCoordinate(1, 2);
+        AreaChunk chunk = createChunk();
+
+        service.save(coordinate, chunk);
+        IOException error = assertThrows(IOException.class, service::flush);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(1, service.getPendingCount());
+        assertEquals(describe(chunk), describe(service.load(coordinate)));
+
+        store.saveFailure = null;
+        service.close();
+        assertEquals(0, service.getPendingCount());
+        assertEquals(describe(chunk), describe(store.chunks.get(coordinate)));
+    }
+
+    @Test
+    void asyncWorldLoadsDoNotHoldTheWorld() throws Exception {
+        RecordingStore store = new RecordingStore();
+        ChunkCoordinate coordinate = new ChunkCoordinate(5, 5);
+        AreaChunk chunk = createChunk();
+        store.chunks.put(coordinate, chunk);
+        store.heldLoad = coordinate;
+
+        try (ChunkIOService service = new ChunkIOService(store, 2)) {
+            World world = new World(1, 8, 8, DensityLevel.LOW, List.of(), Long.MAX_VALUE, service);
+            CompletableFuture<AreaChunk> load = world.getChunkAsync(coordinate);
+
+            // The world keeps serving other chunks while the read is blocked
+            assertNotNull(world.getChunk(0, 0));
+            assertEquals(0, world.tick());
+            assertFalse(load.isDone());
+            assertFalse(world.isResident(coordinate));
+
+            store.loadRelease.countDown();
+            assertEquals(describe(chunk), describe(load.join()));
+            assertTrue(world.isResident(coordinate));
+            assertSame(load.join(), world.getChunk(coordinate));
+            assertSame(load.join(), world.getChunkAsync(coordinate).join());
+        }
+    }
+
+    @Test
+    void inFlightRequestsAreBounded() throws Exception {
+        RecordingStore store = new RecordingStore();
+        for (int i = 0; i < 20; i++) {
+            store.chunks.put(new ChunkCoordinate(i, 0), new AreaChunk(i + 1, 1));
+        }
+
+        try (ChunkIOService service = new ChunkIOService(store, 3)) {
+            List<CompletableFuture<AreaChunk>> loads = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                loads.add(service.loadAsync(new ChunkCoordinate(i, 0)));
+            }
+
+            for (int i = 0; i < 20; i++) {
+                assertEquals(i + 1, loads.get(i).join().getHeight());
+            }
+
+            assertNull(service.load(new ChunkCoordinate(99, 0)));
+        }
+
+        assertTrue(store.maxActive.get() <= 3);
+    }
+
+    @Test
+    void stoppingTheGameFlushesTheWorld() {
+        RecordingStore store = new RecordingStore();
+        ChunkIOService service = new ChunkIOService(store, 2);
+        World world = new World(1, 32, 32, DensityLevel.LOW, List.of(), Long.MAX_VALUE, service);
+        Game game = new Game(world);
+
+        game.start();
+        AreaChunk chunk = world.getChunk(4, 4);
+        game.stop();
+
+        assertEquals(describe(chunk), describe(store.chunks.get(new ChunkCoordinate(4, 4))));
+        assertEquals(0, service.getPendingCount());
+    }
+}
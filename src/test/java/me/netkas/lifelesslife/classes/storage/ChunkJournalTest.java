@@ -0,0 +1,106 @@
+package me.netkas.lifelesslife.classes.storage;
+
+import me.netkas.lifelesslife.classes.layer_generators.MainStreetGenerator;
+import me.netkas.lifelesslife.classes.layer_generators.RoadGenerator;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.objects.World;
+import me.netkas.lifelesslife.objects.area_region.RoadRegion;
+import me.netkas.lifelesslife.objects.point_region.LineRegion;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static me.netkas.lifelesslife.objects.ChunkDescriptions.describe;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkJournalTest {
+
+    private static final ChunkCoordinate ORIGIN = new ChunkCoordinate(0, 0);
+
+    private static World createWorld(RegionFileStore store) {
+        return new World(7, 96, 96, DensityLevel.LOW, List.of(new MainStreetGenerator(), new RoadGenerator()), Long.MAX_VALUE, store);
+    }
+
+    private static void mutate(AreaChunk chunk) {
+        chunk.removeRegion(chunk.getRegions(AreaRegionType.MAIN_STREET).getFirst());
+        chunk.addRegion(new RoadRegion(new LineRegion(new Point(1, 1), new Point(1, 20)), CardinalDirection.SOUTH, "Journal"));
+    }
+
+    @Test
+    void replayRestoresChangesOnRegeneratedChunks(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("world.journal");
+        World world = createWorld(null);
+        ChunkJournal journal = new ChunkJournal(path, Long.MAX_VALUE);
+        world.setJournal(journal);
+
+        AreaChunk chunk = world.getChunk(ORIGIN);
+        mutate(chunk);
+        List<List<?>> expected = describe(chunk);
+
+        // Simulates a crash, nothing but the journal survives
+        journal.close();
+
+        World recovered = createWorld(null);
+        try (ChunkJournal reopened = new ChunkJournal(path, Long.MAX_VALUE)) {
+            recovered.setJournal(reopened);
+            assertEquals(2, recovered.recover());
+            assertEquals(expected, describe(recovered.getChunk(ORIGIN)));
+
+            // Replaying the same records again does not change the chunk
+            assertEquals(2, reopened.replay(recovered::getChunk));
+            assertEquals(expected, describe(recovered.getChunk(ORIGIN)));
+        }
+    }
+
+    @Test
+    void checkpointTruncatesTheJournal(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("world.journal");
+        World world = createWorld(new RegionFileStore(directory));
+        world.setJournal(new ChunkJournal(path, 1));
+
+        mutate(world.getChunk(ORIGIN));
+        List<List<?>> expected = describe(world.getChunk(ORIGIN));
+        assertTrue(world.getJournal().getSize() > 0);
+
+        assertTrue(world.checkpointIfDue());
+        assertEquals(0, world.getJournal().getSize());
+        assertEquals(0, Files.size(path));
+        assertFalse(world.checkpointIfDue());
+        world.close();
+
+        World recovered = createWorld(new RegionFileStore(directory));
+        recovered.setJournal(new ChunkJournal(path, 1));
+        assertEquals(0, recovered.recover());
+        assertEquals(expected, describe(recovered.getChunk(ORIGIN)));
+        recovered.close();
+    }
+
+    @Test
+    void tornRecordsAreDiscarded(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("world.journal");
+        World world = createWorld(null);
+        ChunkJournal journal = new ChunkJournal(path, Long.MAX_VALUE);
+        world.setJournal(journal);
+        mutate(world.getChunk(ORIGIN));
+        final long valid = journal.getSize();
+        journal.close();
+
+        // A record whose length points past the end of the file, as left behind by a crash during a write
+        Files.write(path, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 1, 0}, StandardOpenOption.APPEND);
+
+        try (ChunkJournal reopened = new ChunkJournal(path, Long.MAX_VALUE)) {
+            assertEquals(2, reopened.replay(createWorld(null)::getChunk));
+            assertEquals(valid, reopened.getSize());
+            assertEquals(valid, Files.size(path));
+        }
+    }
+}
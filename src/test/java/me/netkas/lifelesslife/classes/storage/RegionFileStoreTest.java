@@ -0,0 +1,182 @@
+package me.netkas.lifelesslife.classes.storage;
+
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.objects.AreaChunk;
+import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
+import me.netkas.lifelesslife.objects.area_region.RoadRegion;
+import me.netkas.lifelesslife.objects.point_region.PointRegion;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static me.netkas.lifelesslife.objects.ChunkDescriptions.describe;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionFileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates a chunk whose encoded size grows with the number of streets.
+     */
+    private static AreaChunk createChunk(int streets) {
+        AreaChunk chunk = new AreaChunk(600, 600);
+        for (int i = 0; i < streets; i++) {
+            chunk.addRegion(new MainStreetRegion(new Point(0, i), new Point(599, i), CardinalDirection.EAST, "street number " + i));
+        }
+
+        return chunk;
+    }
+
+    @Test
+    void chunksSurviveReopening() throws Exception {
+        ChunkCoordinate first = new ChunkCoordinate(0, 0);
+        ChunkCoordinate second = new ChunkCoordinate(-1, 33);
+        AreaChunk chunk = createChunk(3);
+
+        try (RegionFileStore store = new RegionFileStore(this.directory)) {
+            store.save(first, chunk);
+            store.save(second, createChunk(1));
+            assertNotEquals(store.getRegionPath(first), store.getRegionPath(second));
+        }
+
+        try (RegionFileStore store = new RegionFileStore(this.directory)) {
+            assertTrue(store.contains(first));
+            assertFalse(store.contains(new ChunkCoordinate(1, 0)));
+            assertNull(store.load(new ChunkCoordinate(500, 500)));
+            assertEquals(describe(chunk), describe(store.load(first)));
+            assertEquals(1, store.load(second).getRegions().size());
+        }
+    }
+
+    @Test
+    void freedSectorsAreReusedAndCompacted() throws Exception {
+        try (RegionFileStore store = new RegionFileStore(this.directory)) {
+            ChunkCoordinate small = new ChunkCoordinate(0, 0);
+            ChunkCoordinate other = new ChunkCoordinate(1, 0);
+            Path file = store.getRegionPath(small);
+
+            store.save(small, createChunk(1));
+            store.save(other, createChunk(1));
+            long size = Files.size(file);
+
+            // Growing past its sectors moves the chunk to the end of the file, leaving a hole
+            store.save(small, createChunk(300));
+            assertTrue(Files.size(file) > size);
+            assertEquals(300, store.load(small).getRegions().size());
+
+            // A chunk that fits the hole is written into it instead of growing the file again
+            long grown = Files.size(file);
+            store.save(new ChunkCoordinate(2, 0), createChunk(2));
+            assertEquals(grown, Files.size(file));
+
+            store.delete(other);
+            assertFalse(store.contains(other));
+            assertTrue(store.compact() > 0);
+            assertTrue(Files.size(file) < grown);
+            assertEquals(300, store.load(small).getRegions().size());
+            assertEquals(2, store.load(new ChunkCoordinate(2, 0)).getRegions().size());
+        }
+    }
+
+    @Test
+    void rewritesNeverOverwriteTheStoredCopy() throws Exception {
+        ChunkCoordinate coordinate = new ChunkCoordinate(0, 0);
+        Path file;
+        try (RegionFileStore store = new RegionFileStore(this.directory)) {
+            file = store.getRegionPath(coordinate);
+            store.save(coordinate, createChunk(300));
+        }
+
+        // One entry of an offset and a length per chunk of the region
+        final int headerSize = RegionFileStore.REGION_SIZE * RegionFileStore.REGION_SIZE * Integer.BYTES * 2;
+        byte[] header = Arrays.copyOf(Files.readAllBytes(file), headerSize);
+
+        for (int streets : new int[]{300, 2, 600}) {
+            try (RegionFileStore store = new RegionFileStore(this.directory)) {
+                store.save(coordinate, createChunk(streets));
+            }
+
+            // Restoring the previous header simulates a crash before the entry of the chunk was updated
+            byte[] contents = Files.readAllBytes(file);
+            System.arraycopy(header, 0, contents, 0, headerSize);
+            Files.write(file, contents);
+
+            try (RegionFileStore store = new RegionFileStore(this.directory)) {
+                assertEquals(describe(createChunk(300)), describe(store.load(coordinate)));
+            }
+        }
+    }
+
+    @Test
+    void compactionMovesChunksOverlappingTheirOwnSectors() throws Exception {
+        ChunkCoordinate small = new ChunkCoordinate(0, 0);
+        ChunkCoordinate large = new ChunkCoordinate(1, 0);
+        Path file;
+        long compacted;
+
+        try (RegionFileStore store = new RegionFileStore(this.directory)) {
+            file = store.getRegionPath(small);
+            store.save(small, createChunk(1));
+            long header = Files.size(file);
+            store.save(large, createChunk(300));
+            long full = Files.size(file);
+
+            // The large chunk moves down by fewer sectors than it spans, so its target overlaps its own run
+            store.delete(small);
+            assertTrue(store.compact() > 0);
+            compacted = Files.size(file);
+            assertTrue(compacted < full);
+            assertTrue(compacted > header + (full - header) / 2);
+            assertEquals(describe(createChunk(300)), describe(store.load(large)));
+        }
+
+        try (RegionFileStore store = new RegionFileStore(this.directory)) {
+            assertEquals(compacted, Files.size(file));
+            assertFalse(store.contains(small));
+            assertEquals(describe(createChunk(300)), describe(store.load(large)));
+        }
+    }
+
+    @Test
+    void concurrentReadersSeeConsistentChunks() throws Exception {
+        try (RegionFileStore store = new RegionFileStore(this.directory)) {
+            for (int i = 0; i < 8; i++) {
+                store.save(new ChunkCoordinate(i, 0), createChunk(i + 1));
+            }
+
+            IntStream.range(0, 400).parallel().forEach(i -> {
+                try {
+                    ChunkCoordinate coordinate = new ChunkCoordinate(i % 8, 0);
+                    if (i % 50 == 0) {
+                        store.save(coordinate, createChunk(coordinate.x() + 1));
+                    }
+
+                    assertEquals(coordinate.x() + 1, store.load(coordinate).getRegions().size());
+                } catch (Exception e) {
+                    fail(e);
+                }
+            });
+        }
+    }
+
+    @Test
+    void pathRegionsAreStored() throws Exception {
+        AreaChunk chunk = new AreaChunk(16, 16);
+        chunk.addRegion(new RoadRegion(new PointRegion(List.of(new Point(1, 1), new Point(2, 1), new Point(2, 2))), CardinalDirection.EAST, "bend"));
+
+        try (RegionFileStore store = new RegionFileStore(this.directory)) {
+            store.save(new ChunkCoordinate(7, 7), chunk);
+            assertEquals(chunk.getRegions().get(0).getRegion().getPoints(), store.load(new ChunkCoordinate(7, 7)).getRegions().get(0).getRegion().getPoints());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package me.netkas.lifelesslife.objects;
 
+import me.netkas.lifelesslife.enums.AreaRegionType;
 import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
 import me.netkas.lifelesslife.objects.point_region.LineRegion;
 import me.netkas.lifelesslife.records.Point;
 import org.junit.jupiter.api.Test;
@@ -9,8 +11,13 @@ import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.lang.foreign.Arena;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * A test class for AreaChunk.
@@ -64,6 +71,119 @@ public class AreaChunkTest {
         assertEquals(expected, actual);
     }
 
+    /**
+     * This method tests that point lookups follow regions being added and removed, including overlapping regions
+     */
+    @Test
+    void regionTypeExistsTracksAddAndRemove() {
+        AreaChunk areaChunk = new AreaChunk(10, 10);
+        MainStreetRegion horizontal = new MainStreetRegion(new Point(0, 5), new Point(9, 5), CardinalDirection.EAST, "first");
+        MainStreetRegion vertical = new MainStreetRegion(new Point(5, 0), new Point(5, 9), CardinalDirection.SOUTH, "second");
+
+        areaChunk.addRegion(horizontal);
+        areaChunk.addRegion(vertical);
+        assertTrue(areaChunk.regionTypeExists(new Point(5, 5), AreaRegionType.MAIN_STREET));
+        assertTrue(areaChunk.regionExists(new Point(0, 5)));
+        assertFalse(areaChunk.regionTypeExists(new Point(5, 5), AreaRegionType.ROAD));
+
+        areaChunk.removeRegion(horizontal);
+        assertTrue(areaChunk.regionTypeExists(new Point(5, 5), AreaRegionType.MAIN_STREET));
+        assertFalse(areaChunk.regionExists(new Point(0, 5)));
+    }
+
+    /**
+     * This method tests that getRegions resolves every region overlapping a crossing
+     */
+    @Test
+    void getRegionsAtCrossing() {
+        AreaChunk areaChunk = new AreaChunk(10, 10);
+        MainStreetRegion horizontal = new MainStreetRegion(new Point(0, 5), new Point(9, 5), CardinalDirection.EAST, "first");
+        MainStreetRegion vertical = new MainStreetRegion(new Point(5, 0), new Point(5, 9), CardinalDirection.SOUTH, "second");
+        areaChunk.addRegion(horizontal);
+        areaChunk.addRegion(vertical);
+
+        assertEquals(List.of(horizontal, vertical), areaChunk.getRegions(new Point(5, 5)));
+        assertEquals(List.of(vertical), areaChunk.getRegions(new Point(5, 0)));
+        assertTrue(areaChunk.getRegions(new Point(0, 0)).isEmpty());
+
+        areaChunk.removeRegion(horizontal);
+        assertEquals(List.of(vertical), areaChunk.getRegions(new Point(5, 5)));
+    }
+
+    /**
+     * This method tests that distinct usage counts crossing cells once while summed usage counts them per region
+     */
+    @Test
+    void getRegionUsageDistinct() {
+        AreaChunk areaChunk = new AreaChunk(10, 10);
+        MainStreetRegion horizontal = new MainStreetRegion(new Point(0, 5), new Point(9, 5), CardinalDirection.EAST, "first");
+        areaChunk.addRegion(horizontal);
+        areaChunk.addRegion(new MainStreetRegion(new Point(5, 0), new Point(5, 9), CardinalDirection.SOUTH, "second"));
+
+        assertEquals(20.0, areaChunk.getRegionUsage(AreaRegionType.MAIN_STREET), 0.0001);
+        assertEquals(19.0, areaChunk.getRegionUsage(AreaRegionType.MAIN_STREET, true), 0.0001);
+
+        areaChunk.removeRegion(horizontal);
+        assertEquals(10.0, areaChunk.getRegionUsage(AreaRegionType.MAIN_STREET), 0.0001);
+        assertEquals(10.0, areaChunk.getRegionUsage(AreaRegionType.MAIN_STREET, true), 0.0001);
+        assertEquals(0.0, areaChunk.getRegionUsage(AreaRegionType.ROAD, true), 0.0001);
+    }
+
+    /**
+     * This method tests that region handles resolve in both directions and are reused after removal
+     */
+    @Test
+    void regionHandlesAreReused() {
+        AreaChunk areaChunk = new AreaChunk(10, 10);
+        MainStreetRegion horizontal = new MainStreetRegion(new Point(0, 5), new Point(9, 5), CardinalDirection.EAST, "first");
+        MainStreetRegion vertical = new MainStreetRegion(new Point(5, 0), new Point(5, 9), CardinalDirection.SOUTH, "second");
+        areaChunk.addRegion(horizontal);
+        areaChunk.addRegion(vertical);
+
+        int handle = areaChunk.getHandle(horizontal);
+        assertEquals(horizontal, areaChunk.getRegion(handle));
+        assertEquals(vertical, areaChunk.getRegion(areaChunk.getHandle(vertical)));
+        assertTrue(horizontal.getId() != vertical.getId());
+
+        areaChunk.removeRegion(horizontal);
+        assertEquals(0, areaChunk.getHandle(horizontal));
+
+        MainStreetRegion replacement = new MainStreetRegion(new Point(0, 2), new Point(9, 2), CardinalDirection.EAST, "third");
+        areaChunk.addRegion(replacement);
+        assertEquals(handle, areaChunk.getHandle(replacement));
+        assertEquals(replacement.getUUID(), replacement.getUUID());
+    }
+
+    @Test
+    void offHeapCopyMatchesSource() {
+        AreaChunk source = new AreaChunk(10, 10);
+        MainStreetRegion horizontal = new MainStreetRegion(new Point(0, 5), new Point(9, 5), CardinalDirection.EAST, "first");
+        MainStreetRegion vertical = new MainStreetRegion(new Point(5, 0), new Point(5, 9), CardinalDirection.SOUTH, "second");
+        source.addRegion(horizontal);
+        source.addRegion(vertical);
+        List<AreaRegionType> types = List.of(AreaRegionType.MAIN_STREET);
+
+        Arena arena = Arena.ofConfined();
+        AreaChunk copy = new AreaChunk(source, arena);
+
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 10; x++) {
+                assertEquals(source.getRegions(new Point(x, y)), copy.getRegions(new Point(x, y)));
+                for (CardinalDirection direction : CardinalDirection.values()) {
+                    assertEquals(source.getClearance(x, y, direction, types), copy.getClearance(x, y, direction, types));
+                }
+            }
+        }
+
+        copy.removeRegion(vertical);
+        assertFalse(copy.regionTypeExists(5, 0, types));
+        assertTrue(source.regionTypeExists(5, 0, types));
+        assertEquals(source.getHandle(horizontal), copy.getHandle(horizontal));
+
+        arena.close();
+        assertThrows(IllegalStateException.class, () -> copy.regionTypeExists(5, 5, types));
+    }
+
     @Test
     void renderAreaChunk() {
         AreaChunk areaChunk = new AreaChunk(64, 64);
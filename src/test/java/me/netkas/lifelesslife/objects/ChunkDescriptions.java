@@ -0,0 +1,35 @@
+package me.netkas.lifelesslife.objects;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes the regions of a chunk by their type, full name and ordered points, so that chunks built in
+ * different ways can be compared with assertEquals.
+ */
+public final class ChunkDescriptions {
+
+    private ChunkDescriptions() {
+    }
+
+    public static List<List<?>> describe(AreaChunk chunk) {
+        List<List<?>> description = new ArrayList<>();
+        for (AreaRegionType type : AreaRegionType.values()) {
+            description.addAll(describe(chunk, type));
+        }
+
+        return description;
+    }
+
+    public static List<List<?>> describe(AreaChunk chunk, AreaRegionType type) {
+        List<List<?>> description = new ArrayList<>();
+        for (AreaRegion region : chunk.getRegions(type)) {
+            description.add(List.of(region.getType(), region.getFullName(), region.getRegion().getPointsOrdered()));
+        }
+
+        return description;
+    }
+}
@@ -0,0 +1,81 @@
+package me.netkas.lifelesslife.objects;
+
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.CardinalDirection;
+import me.netkas.lifelesslife.objects.area_region.MainStreetRegion;
+import me.netkas.lifelesslife.objects.area_region.RoadRegion;
+import me.netkas.lifelesslife.objects.point_region.LineRegion;
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClearanceFieldTest {
+
+    @Test
+    void incrementalUpdatesMatchFullRecomputation() {
+        int height = 20;
+        int width = 50;
+        boolean[] occupied = new boolean[height * width];
+        ClearanceField field = new ClearanceField(height, width);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 600; i++) {
+            int x = random.nextInt(width);
+            int y = random.nextInt(height);
+            boolean value = random.nextInt(3) != 0;
+
+            if (occupied[y * width + x] != value) {
+                occupied[y * width + x] = value;
+                field.update(x, y, value);
+            }
+        }
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (CardinalDirection direction : CardinalDirection.values()) {
+                    Point point = new Point(x, y);
+                    int expected = ClearanceField.MAX_CLEARANCE;
+
+                    for (int step = 0; step < ClearanceField.MAX_CLEARANCE; step++) {
+                        Point check = point.toDirection(direction, step);
+                        if (check.x() < 0 || check.x() >= width || check.y() < 0 || check.y() >= height) {
+                            break;
+                        }
+
+                        if (occupied[check.y() * width + check.x()]) {
+                            expected = step;
+                            break;
+                        }
+                    }
+
+                    assertEquals(expected, field.get(x, y, direction), direction + " at " + point);
+                }
+            }
+        }
+    }
+
+    @Test
+    void chunkClearanceFollowsRegions() {
+        AreaChunk chunk = new AreaChunk(30, 30);
+        List<AreaRegionType> streets = List.of(AreaRegionType.MAIN_STREET, AreaRegionType.ROAD);
+        RoadRegion road = new RoadRegion(new LineRegion(new Point(10, 0), new Point(10, 29)), CardinalDirection.SOUTH, "Road");
+
+        chunk.addRegion(new MainStreetRegion(new Point(0, 5), new Point(29, 5), CardinalDirection.EAST, "Main"));
+        chunk.addRegion(road);
+
+        assertEquals(3, chunk.getClearance(13, 20, CardinalDirection.WEST, streets));
+        assertEquals(2, chunk.getClearance(13, 7, CardinalDirection.NORTH, streets));
+        assertFalse(chunk.isClear(13, 20, 3, streets));
+        assertTrue(chunk.isClear(14, 20, 3, streets));
+        assertTrue(chunk.isClear(14, 20, 3, List.of(AreaRegionType.MAIN_STREET)));
+        assertFalse(chunk.isClear(-1, 20, 3, streets));
+
+        chunk.removeRegion(road);
+        assertTrue(chunk.isClear(13, 20, 3, streets));
+        assertEquals(ClearanceField.MAX_CLEARANCE, chunk.getClearance(13, 20, CardinalDirection.WEST, streets));
+    }
+}
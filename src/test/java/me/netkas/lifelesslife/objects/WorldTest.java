@@ -0,0 +1,203 @@
+package me.netkas.lifelesslife.objects;
+
+import me.netkas.lifelesslife.abstracts.AreaRegion;
+import me.netkas.lifelesslife.classes.layer_generators.MainStreetGenerator;
+import me.netkas.lifelesslife.classes.layer_generators.RoadGenerator;
+import me.netkas.lifelesslife.enums.AreaRegionType;
+import me.netkas.lifelesslife.enums.DensityLevel;
+import me.netkas.lifelesslife.interfaces.ChunkStore;
+import me.netkas.lifelesslife.records.ChunkCoordinate;
+import me.netkas.lifelesslife.records.ResidencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static me.netkas.lifelesslife.objects.ChunkDescriptions.describe;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldTest {
+
+    private static World createWorld(long budget, ChunkStore store) {
+        return new World(42, 96, 96, DensityLevel.LOW, List.of(new MainStreetGenerator(), new RoadGenerator()), budget, store);
+    }
+
+    @Test
+    void chunksStayResidentWithinBudget() {
+        World world = createWorld(Long.MAX_VALUE, null);
+        AreaChunk chunk = world.getChunk(0, 0);
+
+        assertSame(chunk, world.getChunk(new ChunkCoordinate(0, 0)));
+        assertEquals(1, world.getResidentCount());
+        assertEquals(chunk.estimateSize(), world.getResidentBytes());
+    }
+
+    @Test
+    void evictedChunksAreRegeneratedFromSeed() {
+        World world = createWorld(1, null);
+        AreaChunk first = world.getChunk(3, -2);
+        List<List<?>> expected = describe(first);
+
+        world.getChunk(0, 0);
+        assertFalse(world.isResident(new ChunkCoordinate(3, -2)));
+        assertEquals(1, world.getResidentCount());
+
+        AreaChunk regenerated = world.getChunk(3, -2);
+        assertNotSame(first, regenerated);
+        assertEquals(expected, describe(regenerated));
+    }
+
+    @Test
+    void evictedChunksAreReloadedFromStore() throws Exception {
+        Map<ChunkCoordinate, AreaChunk> saved = new HashMap<>();
+        ChunkStore store = new ChunkStore() {
+            @Override
+            public boolean contains(ChunkCoordinate coordinate) {
+                return saved.containsKey(coordinate);
+            }
+
+            @Override
+            public AreaChunk load(ChunkCoordinate coordinate) {
+                return saved.get(coordinate);
+            }
+
+            @Override
+            public void save(ChunkCoordinate coordinate, AreaChunk chunk) {
+                saved.put(coordinate, chunk);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        World world = createWorld(1, store);
+        AreaChunk first = world.getChunk(1, 1);
+        world.getChunk(2, 2);
+
+        assertSame(first, saved.get(new ChunkCoordinate(1, 1)));
+        assertSame(first, world.getChunk(1, 1));
+
+        world.close();
+        assertEquals(2, saved.size());
+    }
+
+    @Test
+    void pregenerationDoesNotDependOnThreadCount() {
+        List<ChunkCoordinate> coordinates = List.of(new ChunkCoordinate(0, 0), new ChunkCoordinate(0, 1),
+                new ChunkCoordinate(-1, 0), new ChunkCoordinate(5, 7), new ChunkCoordinate(2, -3), new ChunkCoordinate(1, 1));
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        ExecutorService parallel = Executors.newFixedThreadPool(4);
+
+        try {
+            World sequential = createWorld(Long.MAX_VALUE, null);
+            World concurrent = createWorld(Long.MAX_VALUE, null);
+
+            assertEquals(coordinates.size(), sequential.pregenerate(coordinates, single));
+            assertEquals(coordinates.size(), concurrent.pregenerate(coordinates, parallel));
+            assertEquals(0, concurrent.pregenerate(coordinates, parallel));
+
+            for (ChunkCoordinate coordinate : coordinates) {
+                assertTrue(concurrent.isResident(coordinate));
+                assertEquals(describe(sequential.getChunk(coordinate)), describe(concurrent.getChunk(coordinate)));
+            }
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void idleChunksAreCompressedAndRehydrated() {
+        World world = createWorld(Long.MAX_VALUE, null);
+        world.setIdleTicks(2);
+
+        List<List<?>> expected = describe(world.getChunk(0, 0));
+        final long materialized = world.getResidentBytes();
+        WeakReference<AreaChunk> original = new WeakReference<>(world.getChunk(0, 0));
+
+        assertEquals(0, world.tick());
+        assertEquals(1, world.tick());
+        assertTrue(world.isResident(new ChunkCoordinate(0, 0)));
+        assertTrue(world.getResidentBytes() < materialized);
+
+        ResidencyStats compressed = world.getStats();
+        assertEquals(1, compressed.compressedChunks());
+        assertTrue(compressed.compressionRatio() > 1);
+
+        for (int i = 0; i < 50 && original.get() != null; i++) {
+            System.gc();
+        }
+        assertNull(original.get());
+
+        AreaChunk rehydrated = world.getChunk(0, 0);
+        assertEquals(expected, describe(rehydrated));
+        assertEquals(materialized, world.getResidentBytes());
+        assertSame(rehydrated, world.getChunk(0, 0));
+
+        ResidencyStats stats = world.getStats();
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.coldHits());
+        assertEquals(2, stats.hits());
+        assertEquals(3.0 / 4, stats.hitRate(), 1e-9);
+        assertEquals(0, stats.compressedChunks());
+    }
+
+    @Test
+    void heldChunksStayValidAcrossCompression() {
+        World world = createWorld(Long.MAX_VALUE, null);
+        world.setIdleTicks(2);
+
+        AreaChunk chunk = world.getChunk(0, 0);
+        world.tick();
+        world.tick();
+        assertEquals(1, world.getStats().compressedChunks());
+        assertSame(chunk, world.getChunk(0, 0));
+        assertEquals(0, world.getStats().compressedChunks());
+
+        world.tick();
+        world.tick();
+        assertEquals(1, world.getStats().compressedChunks());
+
+        AreaRegion road = chunk.getRegions(AreaRegionType.ROAD).get(0);
+        chunk.removeRegion(road);
+        assertEquals(0, world.getStats().compressedChunks());
+        List<List<?>> expected = describe(chunk);
+
+        world.tick();
+        world.tick();
+        assertEquals(1, world.getStats().compressedChunks());
+        assertEquals(expected, describe(world.getChunk(0, 0)));
+        assertSame(chunk, world.getChunk(0, 0));
+    }
+
+    @Test
+    void offHeapChunksStayValidAcrossEviction() throws Exception {
+        World world = createWorld(1, null);
+        world.setOffHeap(true);
+
+        AreaChunk first = world.getChunk(0, 0);
+        List<List<?>> expected = describe(first);
+        List<AreaRegionType> types = List.of(AreaRegionType.MAIN_STREET);
+        final boolean occupied = first.regionTypeExists(48, 48, types);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Another thread evicts the chunk while this one still holds it
+            executor.submit(() -> world.getChunk(1, 0)).get();
+            assertFalse(world.isResident(new ChunkCoordinate(0, 0)));
+            assertEquals(occupied, first.regionTypeExists(48, 48, types));
+            assertEquals(expected, describe(first));
+        } finally {
+            executor.shutdown();
+        }
+
+        AreaChunk regenerated = world.getChunk(0, 0);
+        assertEquals(expected, describe(regenerated));
+        assertEquals(occupied, regenerated.regionTypeExists(48, 48, types));
+    }
+}
@@ -0,0 +1,106 @@
+package me.netkas.lifelesslife.objects.point_region;
+
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitmaskRegionTest {
+
+    @Test
+    void setAndClearAcrossWordBoundaries() {
+        BitmaskRegion mask = new BitmaskRegion(3, 130);
+        mask.set(0, 0);
+        mask.set(63, 1);
+        mask.set(64, 1);
+        mask.set(129, 2);
+
+        assertEquals(4, mask.size());
+        assertTrue(mask.contains(63, 1));
+        assertTrue(mask.contains(new Point(64, 1)));
+        assertFalse(mask.contains(130, 2));
+        assertEquals(List.of(new Point(0, 0), new Point(63, 1), new Point(64, 1), new Point(129, 2)), mask.getPoints());
+        assertEquals(new BoundingBoxRegion(new Point(0, 0), new Point(129, 2)), mask.getBounds());
+
+        mask.clear(64, 1);
+        assertEquals(3, mask.size());
+        assertFalse(mask.contains(64, 1));
+
+        // The cached size and bounds follow every change
+        mask.clear(129, 2);
+        assertEquals(new BoundingBoxRegion(new Point(0, 0), new Point(63, 1)), mask.getBounds());
+        mask.clear(0, 0);
+        mask.clear(63, 1);
+        assertTrue(mask.isEmpty());
+        assertThrows(IllegalStateException.class, mask::getBounds);
+    }
+
+    @Test
+    void emptyMaskIntersectsNothing() {
+        BitmaskRegion mask = new BitmaskRegion(10, 10);
+        BoundingBoxRegion box = new BoundingBoxRegion(new Point(0, 0), new Point(5, 5));
+
+        assertFalse(mask.contains(box));
+        assertFalse(box.contains(mask));
+    }
+
+    @Test
+    void setOperationsMatchRegions() {
+        BitmaskRegion box = new BitmaskRegion(100, 100, new BoundingBoxRegion(new Point(0, 0), new Point(9, 9)));
+        BitmaskRegion column = new BitmaskRegion(100, 100, new LineRegion(new Point(4, 0), new Point(4, 20)));
+
+        assertEquals(111, box.union(column).size());
+        assertEquals(10, box.intersection(column).size());
+        assertEquals(90, box.difference(column).size());
+        assertTrue(box.contains(column));
+        assertTrue(column.difference(column).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> box.union(new BitmaskRegion(10, 10)));
+    }
+
+    @Test
+    void dilationMatchesCellByCellReference() {
+        BitmaskRegion mask = new BitmaskRegion(40, 150);
+        mask.set(0, 0);
+        mask.set(63, 20);
+        mask.set(140, 39);
+        mask.set(70, 5);
+
+        for (int distance : new int[]{0, 1, 2, 5, 70}) {
+            BitmaskRegion plus = mask.dilate(distance);
+            BitmaskRegion square = mask.dilateSquare(distance);
+
+            for (int y = 0; y < 40; y++) {
+                for (int x = 0; x < 150; x++) {
+                    boolean expectedPlus = false;
+                    boolean expectedSquare = false;
+
+                    for (Point point : mask.getPoints()) {
+                        int dx = Math.abs(point.x() - x);
+                        int dy = Math.abs(point.y() - y);
+                        expectedPlus |= (dx == 0 && dy <= distance) || (dy == 0 && dx <= distance);
+                        expectedSquare |= dx <= distance && dy <= distance;
+                    }
+
+                    assertEquals(expectedPlus, plus.contains(x, y), "plus " + distance + " at " + x + "," + y);
+                    assertEquals(expectedSquare, square.contains(x, y), "square " + distance + " at " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void randomPointsAreCovered() {
+        BitmaskRegion mask = new BitmaskRegion(10, 200, new LineRegion(new Point(60, 3), new Point(190, 3)));
+        Random random = new Random(3);
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(mask.contains(mask.getRandom(random)));
+        }
+
+        assertTrue(mask.isLine());
+        assertThrows(IllegalStateException.class, () -> new BitmaskRegion(5, 5).getRandom(random));
+    }
+}
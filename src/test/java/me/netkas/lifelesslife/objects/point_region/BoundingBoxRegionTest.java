@@ -119,4 +119,18 @@ public class BoundingBoxRegionTest {
         BoundingBoxRegion singlePoint = new BoundingBoxRegion(new Point(0, 0), new Point(0, 0));
         Assertions.assertEquals(0, singlePoint.size());
     }
+
+    @Test
+    void anyPointFromContinuesRowByRow() {
+        BoundingBoxRegion box = new BoundingBoxRegion(new Point(1, 1), new Point(3, 2));
+        List<Point> visited = new ArrayList<>();
+
+        assertFalse(box.anyPointFrom(new Point(2, 1), (x, y) -> !visited.add(new Point(x, y))));
+        assertEquals(List.of(new Point(2, 1), new Point(3, 1), new Point(1, 2), new Point(2, 2), new Point(3, 2)), visited);
+
+        visited.clear();
+        assertTrue(box.anyPointFrom(null, (x, y) -> !visited.add(new Point(x, y)) || visited.size() == 2));
+        assertEquals(List.of(new Point(1, 1), new Point(2, 1)), visited);
+        assertFalse(box.anyPointFrom(new Point(0, 1), (x, y) -> true));
+    }
 }
\ No newline at end of file
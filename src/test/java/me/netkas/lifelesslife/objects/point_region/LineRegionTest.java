@@ -3,6 +3,7 @@ package me.netkas.lifelesslife.objects.point_region;
 import me.netkas.lifelesslife.records.Point;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -141,4 +142,30 @@ class LineRegionTest {
 
         assertEquals(1001, lineRegion.size());
     }
+
+    @Test
+    void anyPointFromWalksTowardsEnd() {
+        LineRegion lineRegion = new LineRegion(new Point(10, 2), new Point(0, 2));
+        List<Point> visited = new ArrayList<>();
+
+        boolean matched = lineRegion.anyPointFrom(new Point(4, 2), (x, y) -> {
+            visited.add(new Point(x, y));
+            return x == 2;
+        });
+
+        assertTrue(matched);
+        assertEquals(List.of(new Point(4, 2), new Point(3, 2), new Point(2, 2)), visited);
+        assertEquals(lineRegion.getPointsOrdered(new Point(4, 2)).size(), 5);
+        assertTrue(lineRegion.getPointsOrdered(new Point(4, 3)).isEmpty());
+    }
+
+    @Test
+    void forEachPointVisitsEveryPoint() {
+        LineRegion lineRegion = new LineRegion(new Point(2, 0), new Point(2, 100));
+        List<Point> visited = new ArrayList<>();
+
+        lineRegion.forEachPoint((x, y) -> visited.add(new Point(x, y)));
+
+        assertEquals(lineRegion.getPoints(), visited);
+    }
 }
@@ -87,4 +87,65 @@ public class PointRegionTest {
     public void testEmptyPointListThrowsException() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> new PointRegion(Collections.emptyList()));
     }
+
+    @Test
+    public void testTurningRegionBoundsAndLookup() {
+        List<Point> points = Arrays.asList(new Point(2, 2), new Point(2, 3), new Point(2, 4), new Point(3, 4), new Point(4, 4));
+        PointRegion pointRegion = new PointRegion(points);
+        Assertions.assertEquals(2, pointRegion.getWidth());
+        Assertions.assertEquals(2, pointRegion.getHeight());
+        Assertions.assertFalse(pointRegion.isLine());
+        Assertions.assertTrue(pointRegion.contains(new Point(3, 4)));
+        Assertions.assertFalse(pointRegion.contains(new Point(3, 3)));
+        Assertions.assertFalse(pointRegion.contains(new Point(5, 4)));
+        Assertions.assertEquals(points, pointRegion.getPoints());
+    }
+
+    @Test
+    public void testLargeConnectedRegionValidation() {
+        List<Point> points = new ArrayList<>();
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 200; x++) {
+                points.add(new Point(y % 2 == 0 ? x : 199 - x, y));
+            }
+        }
+        PointRegion pointRegion = new PointRegion(points);
+        Assertions.assertEquals(40000, pointRegion.size());
+    }
+
+    @Test
+    public void testTrustedConstructionSkipsConnectivity() {
+        List<Point> points = Arrays.asList(new Point(1, 1), new Point(1, 3));
+        PointRegion pointRegion = new PointRegion(points, false);
+        Assertions.assertTrue(pointRegion.contains(new Point(1, 3)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PointRegion(Arrays.asList(new Point(1, 1), new Point(1, 1)), false));
+    }
+
+    @Test
+    public void testAnyPointOrderedVisitsRowByRow() {
+        List<Point> points = Arrays.asList(new Point(-1, 2), new Point(-1, 1), new Point(0, 1), new Point(0, 0));
+        PointRegion pointRegion = new PointRegion(points);
+        List<Point> visited = new ArrayList<>();
+        pointRegion.anyPointOrdered((x, y) -> !visited.add(new Point(x, y)));
+        Assertions.assertEquals(Arrays.asList(new Point(0, 0), new Point(-1, 1), new Point(0, 1), new Point(-1, 2)), visited);
+        Assertions.assertTrue(pointRegion.anyPoint((x, y) -> x == -1 && y == 2));
+    }
+
+    @Test
+    public void testAnyPointFromSkipsEarlierPoints() {
+        List<Point> points = Arrays.asList(new Point(-1, 2), new Point(-1, 1), new Point(0, 1), new Point(0, 0));
+        PointRegion pointRegion = new PointRegion(points);
+        List<Point> visited = new ArrayList<>();
+        pointRegion.anyPointFrom(new Point(0, 1), (x, y) -> !visited.add(new Point(x, y)));
+        Assertions.assertEquals(Arrays.asList(new Point(0, 1), new Point(-1, 2)), visited);
+        Assertions.assertFalse(pointRegion.anyPointFrom(new Point(5, 5), (x, y) -> true));
+
+        visited.clear();
+        pointRegion.anyPointFrom(null, (x, y) -> !visited.add(new Point(x, y)));
+        Assertions.assertEquals(pointRegion.getPointsOrdered(), visited);
+
+        visited.clear();
+        pointRegion.anyPointFrom(new Point(0, 0), (x, y) -> !visited.add(new Point(x, y)));
+        Assertions.assertEquals(pointRegion.getPointsOrdered(), visited);
+    }
 }
@@ -0,0 +1,79 @@
+package me.netkas.lifelesslife.objects.point_region;
+
+import me.netkas.lifelesslife.records.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanlineRegionTest {
+
+    @Test
+    void mergesTouchingSpansAndCountsPoints() {
+        ScanlineRegion region = new ScanlineRegion(new int[]{0, 0, 1}, new int[]{5, 0, 2}, new int[]{9, 4, 3});
+
+        assertEquals(2, region.getSpanCount());
+        assertEquals(12, region.size());
+        assertTrue(region.contains(new Point(4, 0)));
+        assertTrue(region.contains(new Point(3, 1)));
+        assertFalse(region.contains(new Point(4, 1)));
+        assertFalse(region.contains(new Point(0, 2)));
+    }
+
+    @Test
+    void convertsOtherRegions() {
+        BoundingBoxRegion box = new BoundingBoxRegion(new Point(2, 2), new Point(6, 4));
+        ScanlineRegion region = new ScanlineRegion(box);
+
+        assertEquals(3, region.getSpanCount());
+        assertEquals(15, region.size());
+        assertEquals(box.getPointsOrdered(), region.getPointsOrdered());
+        assertEquals(box, region.getBounds());
+    }
+
+    @Test
+    void setOperationsWorkOnSpans() {
+        ScanlineRegion box = new ScanlineRegion(new BoundingBoxRegion(new Point(0, 0), new Point(9, 9)));
+        ScanlineRegion column = new ScanlineRegion(new LineRegion(new Point(4, 0), new Point(4, 20)));
+
+        ScanlineRegion union = box.union(column);
+        ScanlineRegion intersection = box.intersection(column);
+        ScanlineRegion difference = box.difference(column);
+
+        assertEquals(111, union.size());
+        assertEquals(10, intersection.size());
+        assertEquals(90, difference.size());
+        assertEquals(20, difference.getSpanCount());
+        assertFalse(difference.contains(4, 5));
+        assertTrue(difference.contains(5, 5));
+        assertTrue(column.difference(column).isEmpty());
+    }
+
+    @Test
+    void randomPointsAreWeightedBySpanLength() {
+        ScanlineRegion region = new ScanlineRegion(new int[]{0, 10}, new int[]{0, 0}, new int[]{0, 98});
+        Random random = new Random(7);
+        int longSpanHits = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            Point point = region.getRandom(random);
+            assertTrue(region.contains(point));
+            if (point.y() == 10) {
+                longSpanHits++;
+            }
+        }
+
+        assertTrue(longSpanHits > 950);
+    }
+
+    @Test
+    void emptyRegion() {
+        ScanlineRegion region = new ScanlineRegion(List.of());
+
+        assertTrue(region.isEmpty());
+        assertFalse(region.contains(new Point(0, 0)));
+        assertThrows(IllegalStateException.class, () -> region.getRandom(new Random()));
+    }
+}
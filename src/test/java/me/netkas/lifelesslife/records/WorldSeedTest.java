@@ -0,0 +1,40 @@
+package me.netkas.lifelesslife.records;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldSeedTest {
+
+    @Test
+    void derivationIsReproducible() {
+        WorldSeed first = new WorldSeed(1234).forChunk(new ChunkCoordinate(3, -7)).forLayer("RoadGenerator").forAttempt(5);
+        WorldSeed second = new WorldSeed(1234).forChunk(new ChunkCoordinate(3, -7)).forLayer("RoadGenerator").forAttempt(5);
+
+        assertEquals(first, second);
+        assertEquals(first.toRandom().nextLong(), second.toRandom().nextLong());
+    }
+
+    @Test
+    void siblingsAndLevelsDoNotCollide() {
+        WorldSeed world = new WorldSeed(0);
+        Set<Long> seeds = new HashSet<>();
+
+        for (int x = -8; x < 8; x++) {
+            for (int y = -8; y < 8; y++) {
+                WorldSeed chunk = world.forChunk(new ChunkCoordinate(x, y));
+                assertTrue(seeds.add(chunk.seed()));
+
+                for (String layer : new String[]{"MainStreetGenerator", "RoadGenerator", "Road", "Roads"}) {
+                    assertTrue(seeds.add(chunk.forLayer(layer).seed()));
+                }
+            }
+        }
+
+        assertNotEquals(world.forLayer(""), world.forAttempt(0));
+        assertNotEquals(world.forChunk(new ChunkCoordinate(0, 0)), world.forLayer(""));
+    }
+}